@@ -0,0 +1,207 @@
+package net.gudenau.lib.largebuffers.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.largebuffers.LargeByteBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures single value gets and puts of every primitive type, with
+ * both the absolute and the relative (offset advancing) accessors.
+ *
+ * The offset walks through a 1MiB window so the accesses stay in
+ * cache and the cost of the access path itself is measured.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessBenchmark{
+    private static final long WINDOW = 1024 * 1024;
+    
+    @Param({Buffers.JNI, Buffers.UNSAFE})
+    public String implementation;
+    
+    @Param({Buffers.NATIVE, Buffers.NON_NATIVE})
+    public String order;
+    
+    private LargeByteBuffer buffer;
+    private long offset;
+    
+    @Setup
+    public void setup(){
+        // Leave room for the widest value at the end of the window
+        buffer = Buffers.allocate(implementation, WINDOW + Long.BYTES);
+        buffer.setByteOrder(Buffers.order(order));
+    }
+    
+    private long nextOffset(){
+        offset = (offset + Long.BYTES) & (WINDOW - 1);
+        return offset;
+    }
+    
+    private LargeByteBuffer relative(){
+        if(buffer.getRemaining() < Long.BYTES){
+            buffer.setOffset(0);
+        }
+        return buffer;
+    }
+    
+    @Benchmark
+    public byte getByteAbsolute(){
+        return buffer.getByte(nextOffset());
+    }
+    
+    @Benchmark
+    public byte getByteRelative(){
+        return relative().getByte();
+    }
+    
+    @Benchmark
+    public short getShortAbsolute(){
+        return buffer.getShort(nextOffset());
+    }
+    
+    @Benchmark
+    public short getShortRelative(){
+        return relative().getShort();
+    }
+    
+    @Benchmark
+    public char getCharAbsolute(){
+        return buffer.getChar(nextOffset());
+    }
+    
+    @Benchmark
+    public char getCharRelative(){
+        return relative().getChar();
+    }
+    
+    @Benchmark
+    public int getIntAbsolute(){
+        return buffer.getInt(nextOffset());
+    }
+    
+    @Benchmark
+    public int getIntRelative(){
+        return relative().getInt();
+    }
+    
+    @Benchmark
+    public float getFloatAbsolute(){
+        return buffer.getFloat(nextOffset());
+    }
+    
+    @Benchmark
+    public float getFloatRelative(){
+        return relative().getFloat();
+    }
+    
+    @Benchmark
+    public long getLongAbsolute(){
+        return buffer.getLong(nextOffset());
+    }
+    
+    @Benchmark
+    public long getLongRelative(){
+        return relative().getLong();
+    }
+    
+    @Benchmark
+    public double getDoubleAbsolute(){
+        return buffer.getDouble(nextOffset());
+    }
+    
+    @Benchmark
+    public double getDoubleRelative(){
+        return relative().getDouble();
+    }
+    
+    @Benchmark
+    public void putByteAbsolute(){
+        long offset = nextOffset();
+        buffer.putByte((byte)offset, offset);
+    }
+    
+    @Benchmark
+    public void putByteRelative(){
+        relative().putByte((byte)offset);
+    }
+    
+    @Benchmark
+    public void putShortAbsolute(){
+        long offset = nextOffset();
+        buffer.putShort((short)offset, offset);
+    }
+    
+    @Benchmark
+    public void putShortRelative(){
+        relative().putShort((short)offset);
+    }
+    
+    @Benchmark
+    public void putCharAbsolute(){
+        long offset = nextOffset();
+        buffer.putChar((char)offset, offset);
+    }
+    
+    @Benchmark
+    public void putCharRelative(){
+        relative().putChar((char)offset);
+    }
+    
+    @Benchmark
+    public void putIntAbsolute(){
+        long offset = nextOffset();
+        buffer.putInt((int)offset, offset);
+    }
+    
+    @Benchmark
+    public void putIntRelative(){
+        relative().putInt((int)offset);
+    }
+    
+    @Benchmark
+    public void putFloatAbsolute(){
+        long offset = nextOffset();
+        buffer.putFloat((float)offset, offset);
+    }
+    
+    @Benchmark
+    public void putFloatRelative(){
+        relative().putFloat((float)offset);
+    }
+    
+    @Benchmark
+    public void putLongAbsolute(){
+        long offset = nextOffset();
+        buffer.putLong(offset, offset);
+    }
+    
+    @Benchmark
+    public void putLongRelative(){
+        relative().putLong(offset);
+    }
+    
+    @Benchmark
+    public void putDoubleAbsolute(){
+        long offset = nextOffset();
+        buffer.putDouble((double)offset, offset);
+    }
+    
+    @Benchmark
+    public void putDoubleRelative(){
+        relative().putDouble((double)offset);
+    }
+}
@@ -0,0 +1,48 @@
+package net.gudenau.lib.largebuffers.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.largebuffers.implementation.NativeMethods;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of allocating a zeroed buffer. {@link #mallocFree()}
+ * allocates the same size without touching it, the difference between
+ * the two is the zeroing cost. Zeroed memory comes from calloc, so for
+ * large sizes that difference should be close to nothing.
+ *
+ * Every iteration is a single allocation that is freed again inside of
+ * the measurement, so both benchmarks pay for releasing the memory.
+ * */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 10, batchSize = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AllocationBenchmark{
+    @Param({Buffers.JNI, Buffers.UNSAFE})
+    public String implementation;
+    
+    @Param({"1048576", "67108864", "1073741824"})
+    public long size;
+    
+    @Benchmark
+    public void allocate(){
+        Buffers.allocate(implementation, size).close();
+    }
+    
+    @Benchmark
+    public void mallocFree(){
+        long pointer = NativeMethods.allocateMemory(size);
+        NativeMethods.freeMemory(pointer);
+    }
+}
@@ -0,0 +1,58 @@
+package net.gudenau.lib.largebuffers.benchmark;
+
+import java.nio.ByteOrder;
+import net.gudenau.lib.largebuffers.LargeByteBuffer;
+import net.gudenau.lib.largebuffers.implementation.DirectLargeByteBuffer;
+import net.gudenau.lib.largebuffers.implementation.UnsafeLargeByteBuffer;
+
+/**
+ * Creates the buffers the benchmarks run against.
+ * */
+final class Buffers{
+    /**
+     * Every access goes through JNI.
+     * */
+    static final String JNI = "jni";
+    /**
+     * Accesses go through Unsafe.
+     * */
+    static final String UNSAFE = "unsafe";
+    
+    static final String NATIVE = "native";
+    static final String NON_NATIVE = "non-native";
+    
+    private Buffers(){}
+    
+    /**
+     * Allocates a buffer with the requested implementation.
+     *
+     * @param implementation {@link #JNI} or {@link #UNSAFE}
+     * @param size The size of the buffer
+     *
+     * @return The new buffer
+     * */
+    static LargeByteBuffer allocate(String implementation, long size){
+        switch(implementation){
+            case JNI: return new DirectLargeByteBuffer(size);
+            case UNSAFE: return new UnsafeLargeByteBuffer(size);
+            default: throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+    
+    /**
+     * Gets the {@link java.nio.ByteOrder ByteOrder} for a benchmark
+     * parameter.
+     *
+     * @param order {@link #NATIVE} or {@link #NON_NATIVE}
+     *
+     * @return The byte order
+     * */
+    static ByteOrder order(String order){
+        switch(order){
+            case NATIVE: return ByteOrder.nativeOrder();
+            case NON_NATIVE: return ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ?
+                ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+            default: throw new IllegalArgumentException("Unknown order " + order);
+        }
+    }
+}
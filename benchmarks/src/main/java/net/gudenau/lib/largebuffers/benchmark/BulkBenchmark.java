@@ -0,0 +1,122 @@
+package net.gudenau.lib.largebuffers.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.largebuffers.LargeByteBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures bulk transfers between arrays and a buffer, the size
+ * parameter is the amount of bytes moved by each operation.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Thread)
+public class BulkBenchmark{
+    @Param({Buffers.JNI, Buffers.UNSAFE})
+    public String implementation;
+    
+    @Param({Buffers.NATIVE, Buffers.NON_NATIVE})
+    public String order;
+    
+    @Param({"64", "4096", "1048576", "67108864"})
+    public int size;
+    
+    private LargeByteBuffer buffer;
+    private byte[] bytes;
+    private short[] shorts;
+    private int[] ints;
+    private float[] floats;
+    private long[] longs;
+    private double[] doubles;
+    
+    @Setup
+    public void setup(){
+        buffer = Buffers.allocate(implementation, size);
+        buffer.setByteOrder(Buffers.order(order));
+        bytes = new byte[size / Byte.BYTES];
+        shorts = new short[size / Short.BYTES];
+        ints = new int[size / Integer.BYTES];
+        floats = new float[size / Float.BYTES];
+        longs = new long[size / Long.BYTES];
+        doubles = new double[size / Double.BYTES];
+    }
+    
+    @Benchmark
+    public byte[] getBytes(){
+        buffer.getBytes(bytes, 0, bytes.length, 0);
+        return bytes;
+    }
+    
+    @Benchmark
+    public void putBytes(){
+        buffer.putBytes(bytes, 0, bytes.length, 0);
+    }
+    
+    @Benchmark
+    public short[] getShorts(){
+        buffer.getShorts(shorts, 0, shorts.length, 0);
+        return shorts;
+    }
+    
+    @Benchmark
+    public void putShorts(){
+        buffer.putShorts(shorts, 0, shorts.length, 0);
+    }
+    
+    @Benchmark
+    public int[] getInts(){
+        buffer.getInts(ints, 0, ints.length, 0);
+        return ints;
+    }
+    
+    @Benchmark
+    public void putInts(){
+        buffer.putInts(ints, 0, ints.length, 0);
+    }
+    
+    @Benchmark
+    public float[] getFloats(){
+        buffer.getFloats(floats, 0, floats.length, 0);
+        return floats;
+    }
+    
+    @Benchmark
+    public void putFloats(){
+        buffer.putFloats(floats, 0, floats.length, 0);
+    }
+    
+    @Benchmark
+    public long[] getLongs(){
+        buffer.getLongs(longs, 0, longs.length, 0);
+        return longs;
+    }
+    
+    @Benchmark
+    public void putLongs(){
+        buffer.putLongs(longs, 0, longs.length, 0);
+    }
+    
+    @Benchmark
+    public double[] getDoubles(){
+        buffer.getDoubles(doubles, 0, doubles.length, 0);
+        return doubles;
+    }
+    
+    @Benchmark
+    public void putDoubles(){
+        buffer.putDoubles(doubles, 0, doubles.length, 0);
+    }
+}
@@ -1,6 +1,7 @@
 module net.gudenau.lib.LargeBuffers {
     requires net.gudenau.lib.Annotations;
     requires net.gudenau.lib.Cleanup;
+    requires jdk.unsupported;
     
     exports net.gudenau.lib.largebuffers;
     
@@ -17,6 +17,10 @@ public abstract class ByteBufferGlueLogic<T extends ByteBufferGlueLogic> extends
         super(size);
     }
     
+    protected ByteBufferGlueLogic(long size, boolean readOnly){
+        super(size, readOnly);
+    }
+    
     /**
      * Sets the {@link java.nio.ByteOrder ByteOrder} of the buffer.
      *
@@ -0,0 +1,304 @@
+package net.gudenau.lib.largebuffers;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.LongUnaryOperator;
+import java.util.zip.CRC32C;
+import net.gudenau.lib.annotation.Unsigned;
+
+/**
+ * Checksums and hashes over regions of {@link LargeByteBuffer LargeByteBuffer}s.
+ *
+ * The data is read through {@link LargeByteBuffer#asByteBuffer(long, int) windows}
+ * of the buffer when it can be shared, so the JVM intrinsics for
+ * {@link java.util.zip.CRC32C CRC32C} and {@link java.nio.ByteBuffer ByteBuffer}
+ * loads run right on the native memory. Other buffers are copied out in
+ * small pieces. Regions larger than the {@link Parallelism Parallelism}
+ * threshold are split across threads and the results are combined.
+ * */
+final class Checksums{
+    /**
+     * Regions longer than this are hashed as a tree, see {@link #hash64(LargeByteBuffer, long, long)}.
+     * Changing this changes the hash of long regions.
+     * */
+    static final int HASH_BLOCK_SIZE = 4 * 1024 * 1024;
+    // Largest piece that is read at once
+    private static final int WINDOW_SIZE = 1 << 30;
+    // Largest piece that is copied when the buffer can not be shared
+    private static final int COPY_SIZE = 1024 * 1024;
+    
+    // Reversed CRC-32C polynomial
+    private static final int CRC32C_POLYNOMIAL = 0x82F63B78;
+    
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+    
+    private Checksums(){}
+    
+    /**
+     * Calculates the CRC-32C of a region, the same value
+     * {@link java.util.zip.CRC32C CRC32C} produces for the bytes.
+     *
+     * @param buffer The buffer to read
+     * @param offset The offset of the region
+     * @param length The length of the region
+     *
+     * @return The CRC-32C of the region
+     * */
+    static long crc32c(LargeByteBuffer buffer, @Unsigned long offset, @Unsigned long length){
+        int pieces = getPieces(length);
+        if(pieces == 1){
+            return crc32cSerial(buffer, offset, length);
+        }
+        // Any split works, the CRCs of the pieces are combined in order
+        long pieceLength = length / pieces;
+        long[] crcs = computeAll(pieces, (piece)->{
+            long start = piece * pieceLength;
+            long end = piece == pieces - 1 ? length : start + pieceLength;
+            return crc32cSerial(buffer, offset + start, end - start);
+        });
+        long crc = crcs[0];
+        for(int piece = 1; piece < pieces; piece++){
+            long pieceSize = piece == pieces - 1 ? length - piece * pieceLength : pieceLength;
+            crc = crc32cCombine(crc, crcs[piece], pieceSize);
+        }
+        return crc;
+    }
+    
+    private static long crc32cSerial(LargeByteBuffer buffer, @Unsigned long offset, @Unsigned long length){
+        CRC32C crc = new CRC32C();
+        boolean shared = true;
+        for(long done = 0; done < length;){
+            ByteBuffer window = null;
+            if(shared){
+                window = share(buffer, offset + done, (int)Math.min(length - done, WINDOW_SIZE));
+                shared = window != null;
+            }
+            if(window == null){
+                window = copy(buffer, offset + done, (int)Math.min(length - done, COPY_SIZE));
+            }
+            done += window.remaining();
+            crc.update(window);
+        }
+        return crc.getValue();
+    }
+    
+    /**
+     * Calculates the CRC of two pieces of data from the CRC of each piece,
+     * by applying the length of the second piece of zeros to the first CRC
+     * as a matrix over GF(2), like zlib does.
+     * */
+    private static long crc32cCombine(long crc, long nextCrc, @Unsigned long nextLength){
+        if(nextLength == 0){
+            return crc;
+        }
+        int[] even = new int[32];
+        int[] odd = new int[32];
+        
+        // The operator for a single zero bit
+        odd[0] = CRC32C_POLYNOMIAL;
+        int row = 1;
+        for(int n = 1; n < 32; n++){
+            odd[n] = row;
+            row <<= 1;
+        }
+        // Two and then four zero bits
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+        
+        // Apply one zero byte, then keep doubling for each bit of the length
+        int value = (int)crc;
+        do{
+            gf2MatrixSquare(even, odd);
+            if((nextLength & 1) != 0){
+                value = gf2MatrixTimes(even, value);
+            }
+            nextLength >>>= 1;
+            if(nextLength == 0){
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if((nextLength & 1) != 0){
+                value = gf2MatrixTimes(odd, value);
+            }
+            nextLength >>>= 1;
+        }while(nextLength != 0);
+        return Integer.toUnsignedLong(value ^ (int)nextCrc);
+    }
+    
+    private static int gf2MatrixTimes(int[] matrix, int vector){
+        int sum = 0;
+        for(int i = 0; vector != 0; i++, vector >>>= 1){
+            if((vector & 1) != 0){
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+    
+    private static void gf2MatrixSquare(int[] square, int[] matrix){
+        for(int n = 0; n < 32; n++){
+            square[n] = gf2MatrixTimes(matrix, matrix[n]);
+        }
+    }
+    
+    /**
+     * Calculates a 64 bit hash of a region. Regions up to
+     * {@link #HASH_BLOCK_SIZE} bytes hash to their XXH64 with a seed of 0.
+     * Longer regions are split into blocks of that size, every block is
+     * hashed with XXH64 and the result is the XXH64 of the little endian
+     * block hashes, seeded with the length of the region.
+     *
+     * @param buffer The buffer to read
+     * @param offset The offset of the region
+     * @param length The length of the region
+     *
+     * @return The hash of the region
+     * */
+    static long hash64(LargeByteBuffer buffer, @Unsigned long offset, @Unsigned long length){
+        if(Long.compareUnsigned(length, HASH_BLOCK_SIZE) <= 0){
+            return xxh64(block(buffer, offset, (int)length), 0);
+        }
+        // 2^31 blocks would be 8PiB, more than any address space
+        int blocks = (int)((length - 1) / HASH_BLOCK_SIZE + 1);
+        LongUnaryOperator hashBlock = (block)->{
+            long start = block * HASH_BLOCK_SIZE;
+            int size = (int)Math.min(HASH_BLOCK_SIZE, length - start);
+            return xxh64(block(buffer, offset + start, size), 0);
+        };
+        long[] hashes;
+        if(getPieces(length) == 1){
+            hashes = new long[blocks];
+            for(int block = 0; block < blocks; block++){
+                hashes[block] = hashBlock.applyAsLong(block);
+            }
+        }else{
+            hashes = computeAll(blocks, hashBlock);
+        }
+        ByteBuffer hashBytes = ByteBuffer.allocate(blocks * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        hashBytes.asLongBuffer().put(hashes);
+        return xxh64(hashBytes, length);
+    }
+    
+    /**
+     * XXH64 of the remaining bytes of a buffer, the position of the
+     * buffer is not changed.
+     * */
+    private static long xxh64(ByteBuffer input, long seed){
+        input = input.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int position = input.position();
+        int end = input.limit();
+        int length = end - position;
+        long hash;
+        
+        if(length >= 32){
+            long v1 = seed + PRIME64_1 + PRIME64_2;
+            long v2 = seed + PRIME64_2;
+            long v3 = seed;
+            long v4 = seed - PRIME64_1;
+            int limit = end - 32;
+            do{
+                v1 = xxh64Round(v1, input.getLong(position));
+                v2 = xxh64Round(v2, input.getLong(position + 8));
+                v3 = xxh64Round(v3, input.getLong(position + 16));
+                v4 = xxh64Round(v4, input.getLong(position + 24));
+                position += 32;
+            }while(position <= limit);
+            
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = xxh64MergeRound(hash, v1);
+            hash = xxh64MergeRound(hash, v2);
+            hash = xxh64MergeRound(hash, v3);
+            hash = xxh64MergeRound(hash, v4);
+        }else{
+            hash = seed + PRIME64_5;
+        }
+        hash += length;
+        
+        for(; position + 8 <= end; position += 8){
+            hash ^= xxh64Round(0, input.getLong(position));
+            hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+        }
+        if(position + 4 <= end){
+            hash ^= Integer.toUnsignedLong(input.getInt(position)) * PRIME64_1;
+            hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+            position += 4;
+        }
+        for(; position < end; position++){
+            hash ^= Byte.toUnsignedLong(input.get(position)) * PRIME64_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+        }
+        
+        hash ^= hash >>> 33;
+        hash *= PRIME64_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME64_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+    
+    private static long xxh64Round(long accumulator, long input){
+        accumulator += input * PRIME64_2;
+        return Long.rotateLeft(accumulator, 31) * PRIME64_1;
+    }
+    
+    private static long xxh64MergeRound(long accumulator, long value){
+        accumulator ^= xxh64Round(0, value);
+        return accumulator * PRIME64_1 + PRIME64_4;
+    }
+    
+    /**
+     * Gets a region as a {@link java.nio.ByteBuffer ByteBuffer}, sharing
+     * the memory if the buffer allows it.
+     * */
+    private static ByteBuffer block(LargeByteBuffer buffer, @Unsigned long offset, int length){
+        ByteBuffer window = share(buffer, offset, length);
+        return window != null ? window : copy(buffer, offset, length);
+    }
+    
+    /**
+     * Gets a window of a region.
+     *
+     * @return The window or null if the buffer can not be shared
+     * */
+    private static ByteBuffer share(LargeByteBuffer buffer, @Unsigned long offset, int length){
+        try{
+            return buffer.asByteBuffer(offset, length);
+        }catch(UnsupportedOperationException ignored){
+            return null;
+        }
+    }
+    
+    private static ByteBuffer copy(LargeByteBuffer buffer, @Unsigned long offset, int length){
+        byte[] values = new byte[length];
+        buffer.getBytes(values, 0, length, offset);
+        return ByteBuffer.wrap(values);
+    }
+    
+    /**
+     * Gets how many pieces a region is split into, one per thread once it
+     * is larger than the threshold.
+     * */
+    private static int getPieces(@Unsigned long length){
+        int parallelism = Parallelism.getPool().getParallelism();
+        return Long.compareUnsigned(length, Parallelism.getThreshold()) > 0 ? parallelism : 1;
+    }
+    
+    /**
+     * Runs a computation for every index on the {@link Parallelism Parallelism}
+     * pool.
+     *
+     * @param count The amount of indices
+     * @param computation The computation, gets passed the index
+     *
+     * @return The results in order of the indices
+     * */
+    private static long[] computeAll(int count, LongUnaryOperator computation){
+        long[] results = new long[count];
+        Parallelism.forEach(count, (index)->results[index] = computation.applyAsLong(index));
+        return results;
+    }
+}
@@ -0,0 +1,295 @@
+package net.gudenau.lib.largebuffers;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import net.gudenau.lib.annotation.Unsigned;
+
+/**
+ * Saves regions of {@link LargeByteBuffer LargeByteBuffer}s to channels in
+ * compressed chunks and restores them.
+ *
+ * The region is split into chunks that are compressed independently, so
+ * a batch of chunks can be compressed or decompressed on the threads of
+ * the {@link Parallelism Parallelism} pool while the channel is accessed
+ * in order. Chunks that are all zeros are only recorded, chunks that do
+ * not shrink are stored as they are.
+ *
+ * The format is a header of the magic, the chunk size and the length of
+ * the region, followed by every chunk as its type, its stored length and
+ * its data. Everything is big endian.
+ * */
+final class Compression{
+    private static final int MAGIC = 0x4C42425A;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES;
+    private static final int CHUNK_HEADER_SIZE = 1 + Integer.BYTES;
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    
+    private static final byte TYPE_STORED = 0;
+    private static final byte TYPE_ZEROS = 1;
+    private static final byte TYPE_DEFLATED = 2;
+    
+    private Compression(){}
+    
+    /**
+     * Writes a compressed region to a channel.
+     *
+     * @param buffer The buffer to read from
+     * @param channel The channel to write to
+     * @param offset The offset of the region
+     * @param length The length of the region
+     *
+     * @return The amount of bytes that were written
+     *
+     * @throws java.io.IOException If the channel could not be written
+     * */
+    @Unsigned
+    static long save(LargeByteBuffer buffer, WritableByteChannel channel, @Unsigned long offset, @Unsigned long length) throws IOException{
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(CHUNK_SIZE).putLong(length).flip();
+        long written = writeFully(channel, header);
+        
+        long chunks = getChunkCount(length);
+        int batchSize = getBatchSize(length);
+        ByteBuffer[] compressed = new ByteBuffer[batchSize];
+        for(long batch = 0; batch < chunks; batch += batchSize){
+            long firstChunk = batch;
+            int count = (int)Math.min(batchSize, chunks - batch);
+            Parallelism.forEach(count, (index)->{
+                long chunkOffset = (firstChunk + index) * CHUNK_SIZE;
+                int chunkLength = (int)Math.min(CHUNK_SIZE, length - chunkOffset);
+                compressed[index] = compress(buffer, offset + chunkOffset, chunkLength);
+            });
+            for(int index = 0; index < count; index++){
+                written += writeFully(channel, compressed[index]);
+                compressed[index] = null;
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * Compresses a single chunk.
+     *
+     * @return The header and data of the chunk
+     * */
+    private static ByteBuffer compress(LargeByteBuffer buffer, @Unsigned long offset, int length){
+        if(isZero(buffer, offset, length)){
+            ByteBuffer chunk = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+            chunk.put(TYPE_ZEROS).putInt(0).flip();
+            return chunk;
+        }
+        
+        // Deflater only takes arrays on this Java version
+        byte[] input = new byte[length];
+        buffer.getBytes(input, 0, length, offset);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try{
+            deflater.setInput(input);
+            deflater.finish();
+            // Anything that does not fit is not worth keeping
+            byte[] output = new byte[CHUNK_HEADER_SIZE + length - 1];
+            int size = CHUNK_HEADER_SIZE;
+            while(!deflater.finished() && size < output.length){
+                size += deflater.deflate(output, size, output.length - size);
+            }
+            if(deflater.finished()){
+                ByteBuffer chunk = ByteBuffer.wrap(output, 0, size);
+                chunk.put(TYPE_DEFLATED).putInt(size - CHUNK_HEADER_SIZE).position(0);
+                return chunk;
+            }
+        }finally{
+            deflater.end();
+        }
+        
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_HEADER_SIZE + length);
+        chunk.put(TYPE_STORED).putInt(length).put(input).flip();
+        return chunk;
+    }
+    
+    /**
+     * Checks if a chunk is all zeros, in place if the buffer can be shared.
+     * */
+    private static boolean isZero(LargeByteBuffer buffer, @Unsigned long offset, int length){
+        ByteBuffer window;
+        try{
+            window = buffer.asByteBuffer(offset, length);
+        }catch(UnsupportedOperationException ignored){
+            byte[] values = new byte[length];
+            buffer.getBytes(values, 0, length, offset);
+            window = ByteBuffer.wrap(values);
+        }
+        int position = 0;
+        for(; position + Long.BYTES <= length; position += Long.BYTES){
+            if(window.getLong(position) != 0){
+                return false;
+            }
+        }
+        for(; position < length; position++){
+            if(window.get(position) != 0){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Restores a region that was written by {@link #save(LargeByteBuffer, WritableByteChannel, long, long)}.
+     *
+     * @param buffer The buffer to write into
+     * @param channel The channel to read from
+     * @param offset The offset to restore the region to
+     *
+     * @return The length of the region
+     *
+     * @throws java.io.IOException If the channel could not be read or the
+     *          data is corrupt
+     * @throws java.nio.BufferOverflowException If the region does not fit
+     *          inside of the buffer
+     * */
+    @Unsigned
+    static long load(LargeByteBuffer buffer, ReadableByteChannel channel, @Unsigned long offset) throws IOException{
+        ByteBuffer header = readFully(channel, HEADER_SIZE);
+        if(header.getInt() != MAGIC){
+            throw new IOException("data was not saved by saveCompressed");
+        }
+        // Save always uses the same size, anything else would size the
+        //  decompression buffers from untrusted input.
+        if(header.getInt() != CHUNK_SIZE){
+            throw new IOException("corrupt chunk size");
+        }
+        long length = header.getLong();
+        buffer.checkCapacityWrite(offset, length);
+        
+        long chunks = getChunkCount(length);
+        int batchSize = getBatchSize(length);
+        ByteBuffer[] compressed = new ByteBuffer[batchSize];
+        IOException[] errors = new IOException[batchSize];
+        for(long batch = 0; batch < chunks; batch += batchSize){
+            long firstChunk = batch;
+            int count = (int)Math.min(batchSize, chunks - batch);
+            // Read the batch in order, anything that is not deflated goes
+            //  straight into the buffer.
+            for(int index = 0; index < count; index++){
+                long chunkOffset = offset + (firstChunk + index) * CHUNK_SIZE;
+                int chunkLength = (int)Math.min(CHUNK_SIZE, length - (firstChunk + index) * CHUNK_SIZE);
+                ByteBuffer chunkHeader = readFully(channel, CHUNK_HEADER_SIZE);
+                byte type = chunkHeader.get();
+                int storedLength = chunkHeader.getInt();
+                compressed[index] = null;
+                if(type == TYPE_ZEROS && storedLength == 0){
+                    buffer.fill(chunkOffset, chunkLength, (byte)0);
+                }else if(type == TYPE_STORED && storedLength == chunkLength){
+                    readInto(buffer, channel, chunkOffset, chunkLength);
+                }else if(type == TYPE_DEFLATED && storedLength >= 0 && storedLength < chunkLength){
+                    compressed[index] = readFully(channel, storedLength);
+                }else{
+                    throw new IOException("corrupt chunk header");
+                }
+            }
+            Parallelism.forEach(count, (index)->{
+                ByteBuffer data = compressed[index];
+                if(data == null){
+                    return;
+                }
+                long chunkOffset = (firstChunk + index) * CHUNK_SIZE;
+                int chunkLength = (int)Math.min(CHUNK_SIZE, length - chunkOffset);
+                try{
+                    decompress(buffer, offset + chunkOffset, chunkLength, data);
+                }catch(IOException e){
+                    errors[index] = e;
+                }
+            });
+            for(int index = 0; index < count; index++){
+                compressed[index] = null;
+                if(errors[index] != null){
+                    throw errors[index];
+                }
+            }
+        }
+        return length;
+    }
+    
+    private static void decompress(LargeByteBuffer buffer, @Unsigned long offset, int length, ByteBuffer data) throws IOException{
+        byte[] output = new byte[length];
+        Inflater inflater = new Inflater();
+        try{
+            inflater.setInput(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            int size = 0;
+            while(size < length && !inflater.finished()){
+                int inflated = inflater.inflate(output, size, length - size);
+                if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())){
+                    break;
+                }
+                size += inflated;
+            }
+            if(size != length || !inflater.finished()){
+                throw new IOException("corrupt chunk, wrong length");
+            }
+        }catch(DataFormatException e){
+            throw new IOException("corrupt chunk", e);
+        }finally{
+            inflater.end();
+        }
+        buffer.putBytes(output, 0, length, offset);
+    }
+    
+    /**
+     * Reads from a channel straight into the buffer if it can be shared.
+     * */
+    private static void readInto(LargeByteBuffer buffer, ReadableByteChannel channel, @Unsigned long offset, int length) throws IOException{
+        ByteBuffer window;
+        try{
+            window = buffer.asByteBuffer(offset, length);
+        }catch(UnsupportedOperationException ignored){
+            window = null;
+        }
+        if(window != null){
+            readFully(channel, window);
+        }else{
+            ByteBuffer data = readFully(channel, length);
+            buffer.putBytes(data.array(), 0, length, offset);
+        }
+    }
+    
+    private static long getChunkCount(@Unsigned long length){
+        return length == 0 ? 0 : (length - 1) / CHUNK_SIZE + 1;
+    }
+    
+    /**
+     * Gets how many chunks are handled at once, two per thread once the
+     * region is larger than the threshold so the threads stay busy.
+     * */
+    private static int getBatchSize(@Unsigned long length){
+        int parallelism = Parallelism.getPool().getParallelism();
+        return Long.compareUnsigned(length, Parallelism.getThreshold()) > 0 ? parallelism * 2 : 1;
+    }
+    
+    private static long writeFully(WritableByteChannel channel, ByteBuffer data) throws IOException{
+        long written = data.remaining();
+        while(data.hasRemaining()){
+            channel.write(data);
+        }
+        return written;
+    }
+    
+    private static ByteBuffer readFully(ReadableByteChannel channel, int length) throws IOException{
+        ByteBuffer data = ByteBuffer.allocate(length);
+        readFully(channel, data);
+        data.flip();
+        return data;
+    }
+    
+    private static void readFully(ReadableByteChannel channel, ByteBuffer data) throws IOException{
+        while(data.hasRemaining()){
+            if(channel.read(data) < 0){
+                throw new EOFException("channel ended inside of compressed data");
+            }
+        }
+    }
+}
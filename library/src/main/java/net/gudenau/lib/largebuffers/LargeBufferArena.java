@@ -0,0 +1,169 @@
+package net.gudenau.lib.largebuffers;
+
+import java.nio.BufferOverflowException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import net.gudenau.lib.annotation.Unsigned;
+import net.gudenau.lib.largebuffers.implementation.Allocator;
+
+/**
+ * Hands out {@link LargeByteBuffer LargeByteBuffer}s that are carved out
+ * of a single native allocation, for memory that is allocated in many
+ * pieces but all dies at the same time.
+ *
+ * Every buffer is a {@link LargeByteBuffer#slice(long, long) slice} of
+ * the arena, so getting one is a pointer bump and an append to a lock
+ * free queue, no lock is taken. The arena holds on to every buffer it
+ * handed out until it is {@link #close() closed}, they die with it
+ * anyway. Nothing is freed until then, closing invalidates every buffer
+ * at once and then frees the memory.
+ * */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class LargeBufferArena implements AutoCloseable{
+    // Enough for any primitive
+    private static final long DEFAULT_ALIGNMENT = 8;
+    
+    private final LargeByteBuffer region;
+    // Every buffer handed out, invalidated when the arena is closed
+    private final Queue<LargeByteBuffer> slices = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed = false;
+    private final long base;
+    @Unsigned
+    private final long capacity;
+    private final AtomicLong used = new AtomicLong();
+    
+    /**
+     * Creates an arena whose memory starts zeroed.
+     *
+     * @param capacity The size of the arena
+     *
+     * @throws OutOfMemoryError If the arena could not be allocated
+     * */
+    public LargeBufferArena(@Unsigned long capacity){
+        this(capacity, true);
+    }
+    
+    /**
+     * Creates a new arena.
+     *
+     * @param capacity The size of the arena
+     * @param zero True to fill the memory of the arena with zeros, false
+     *             to leave whatever the allocator returned
+     *
+     * @throws OutOfMemoryError If the arena could not be allocated
+     * */
+    public LargeBufferArena(@Unsigned long capacity, boolean zero){
+        // Never 0 so the pointer is valid even for empty arenas
+        long pointer = Allocator.allocate(Math.max(capacity, 1), zero);
+        this.base = pointer;
+        this.capacity = capacity;
+        this.region = Allocator.wrap(capacity, pointer, ()->Allocator.free(pointer));
+    }
+    
+    /**
+     * Gets a buffer from the arena that is aligned to 8 bytes.
+     *
+     * @param size The size of the buffer
+     *
+     * @return The buffer
+     *
+     * @throws java.lang.IllegalStateException If the arena was closed
+     * @throws java.nio.BufferOverflowException If the arena does not
+     *          have enough space left
+     * */
+    public LargeByteBuffer allocate(@Unsigned long size){
+        return allocate(size, DEFAULT_ALIGNMENT);
+    }
+    
+    /**
+     * Gets a buffer from the arena. The alignment is of the native
+     * address of the buffer, not only of the offset in the arena.
+     *
+     * @param size The size of the buffer
+     * @param alignment The alignment of the buffer, a power of two
+     *
+     * @return The buffer
+     *
+     * @throws java.lang.IllegalArgumentException If the alignment is
+     *          not a power of two
+     * @throws java.lang.IllegalStateException If the arena was closed
+     * @throws java.nio.BufferOverflowException If the arena does not
+     *          have enough space left
+     * */
+    public LargeByteBuffer allocate(@Unsigned long size, @Unsigned long alignment){
+        if(alignment == 0 || (alignment & (alignment - 1)) != 0){
+            throw new IllegalArgumentException("alignment is not a power of two");
+        }
+        if(region.isFreed()){
+            throw new IllegalStateException("arena was closed");
+        }
+        
+        long current;
+        long start;
+        long end;
+        do{
+            current = used.get();
+            start = ((base + current + alignment - 1) & -alignment) - base;
+            end = start + size;
+            // Also catches the address space wrapping around
+            if(Long.compareUnsigned(start, capacity) > 0 || Long.compareUnsigned(end, capacity) > 0 || Long.compareUnsigned(end, start) < 0){
+                throw new BufferOverflowException();
+            }
+        }while(!used.compareAndSet(current, end));
+        LargeByteBuffer slice = Allocator.sliceUntracked(region, start, size);
+        slices.add(slice);
+        // Either close sees the slice in the queue or this sees the arena
+        //  was closed, invalidating twice is harmless.
+        if(closed){
+            slice.invalidate();
+            throw new IllegalStateException("arena was closed");
+        }
+        return slice;
+    }
+    
+    /**
+     * Gets the size of the arena.
+     *
+     * @return The size of the arena
+     * */
+    @Unsigned
+    public long getCapacity(){
+        return capacity;
+    }
+    
+    /**
+     * Gets how much of the arena has been handed out, including the
+     * padding used for alignment.
+     *
+     * @return The used size of the arena
+     * */
+    @Unsigned
+    public long getUsed(){
+        return used.get();
+    }
+    
+    /**
+     * Gets how much of the arena has not been handed out yet.
+     *
+     * @return The remaining size of the arena
+     * */
+    @Unsigned
+    public long getRemaining(){
+        return capacity - used.get();
+    }
+    
+    /**
+     * Frees the memory of the arena, every buffer it handed out is
+     * invalidated. Calling this more than once does nothing.
+     * */
+    @Override
+    public void close(){
+        closed = true;
+        LargeByteBuffer slice;
+        while((slice = slices.poll()) != null){
+            slice.invalidate();
+        }
+        region.close();
+    }
+}
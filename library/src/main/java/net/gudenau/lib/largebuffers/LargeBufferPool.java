@@ -0,0 +1,362 @@
+package net.gudenau.lib.largebuffers;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import net.gudenau.lib.annotation.Unsigned;
+import net.gudenau.lib.cleanup.Cleaner;
+import net.gudenau.lib.largebuffers.implementation.Allocator;
+
+/**
+ * Recycles the memory of {@link LargeByteBuffer LargeByteBuffer}s so
+ * buffers that are allocated and dropped often do not go back to the
+ * native allocator every time.
+ *
+ * Memory is pooled in power of two size classes, a buffer is backed by
+ * a block of the smallest class that fits it. When the buffer is
+ * {@link LargeByteBuffer#close() closed}, or collected, the block goes
+ * back to the pool instead of being freed. Each thread keeps a few blocks
+ * of every class for itself, the rest are shared between threads. A pool
+ * that is collected without being closed frees its blocks like a closed
+ * one.
+ *
+ * The pool never keeps more than the maximum retained bytes around,
+ * blocks that would go over the limit are freed right away. Sizes that
+ * are larger than the limit are never pooled.
+ * */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class LargeBufferPool implements AutoCloseable{
+    // 4KiB, smaller buffers share the smallest class
+    private static final int MIN_CLASS = 12;
+    private static final int MAX_CLASS = 62;
+    private static final int CLASS_COUNT = MAX_CLASS - MIN_CLASS + 1;
+    
+    private final boolean zero;
+    private final State state;
+    
+    /**
+     * Creates a pool that zeros reused memory and caches two blocks of
+     * every size class per thread.
+     *
+     * @param maxRetainedBytes The most memory the pool keeps around
+     * */
+    public LargeBufferPool(@Unsigned long maxRetainedBytes){
+        this(maxRetainedBytes, true);
+    }
+    
+    /**
+     * Creates a pool that caches two blocks of every size class per thread.
+     *
+     * @param maxRetainedBytes The most memory the pool keeps around
+     * @param zero True to fill reused memory with zeros, false to leave the
+     *             contents of the last buffer that used it
+     * */
+    public LargeBufferPool(@Unsigned long maxRetainedBytes, boolean zero){
+        this(maxRetainedBytes, zero, 2);
+    }
+    
+    /**
+     * Creates a new pool.
+     *
+     * @param maxRetainedBytes The most memory the pool keeps around
+     * @param zero True to fill reused memory with zeros, false to leave the
+     *             contents of the last buffer that used it
+     * @param threadCacheSize How many blocks of every size class each thread
+     *                        keeps for itself
+     *
+     * @throws java.lang.IllegalArgumentException If the thread cache size
+     *          is negative
+     * */
+    public LargeBufferPool(@Unsigned long maxRetainedBytes, boolean zero, int threadCacheSize){
+        if(threadCacheSize < 0){
+            throw new IllegalArgumentException("threadCacheSize was negative");
+        }
+        this.zero = zero;
+        state = new State(maxRetainedBytes, threadCacheSize);
+        
+        Cleaner.addCleaner(this, state::close);
+    }
+    
+    /**
+     * Gets a buffer from the pool, reusing memory if there is any.
+     *
+     * When the pool was created without zeroing the contents of the
+     * buffer are undefined.
+     *
+     * @param size The size of the buffer
+     *
+     * @return The buffer
+     *
+     * @throws java.lang.IllegalStateException If the pool was closed
+     * @throws java.lang.OutOfMemoryError If the memory could not be
+     *          allocated
+     * */
+    public LargeByteBuffer allocate(@Unsigned long size){
+        // A local, the release actions of the buffer must not capture the pool
+        State state = this.state;
+        if(state.closed){
+            throw new IllegalStateException("pool was closed");
+        }
+        
+        int sizeClass = getSizeClass(size);
+        if(sizeClass == -1 || Long.compareUnsigned(1L << sizeClass, state.maxRetainedBytes) > 0){
+            long pointer = Allocator.allocate(size, zero);
+            return Allocator.wrap(size, pointer, ()->Allocator.free(pointer));
+        }
+        
+        long pointer = state.take(sizeClass);
+        if(pointer == 0){
+            pointer = Allocator.allocate(1L << sizeClass, zero);
+        }else if(zero){
+            Allocator.fill(pointer, size, (byte)0x00);
+        }
+        long block = pointer;
+        return Allocator.wrap(
+            size,
+            block,
+            ()->state.release(block, sizeClass, false),
+            ()->state.release(block, sizeClass, true)
+        );
+    }
+    
+    /**
+     * Gets the amount of memory the pool is holding on to that is not
+     * used by any buffer.
+     *
+     * @return The retained memory in bytes
+     * */
+    @Unsigned
+    public long getRetainedBytes(){
+        return state.retainedBytes.get();
+    }
+    
+    /**
+     * Frees every block that is not used by a buffer, including the ones
+     * cached by other threads.
+     * */
+    public void trim(){
+        state.trim();
+    }
+    
+    /**
+     * Frees every block that is not used by a buffer. Buffers that are
+     * still in use free their memory instead of returning it once they
+     * are closed.
+     * */
+    @Override
+    public void close(){
+        state.close();
+    }
+    
+    /**
+     * Gets the size class for a size, the power of two of the smallest
+     * block that fits it.
+     *
+     * @return The size class or -1 if the size is too large to pool
+     * */
+    private static int getSizeClass(@Unsigned long size){
+        if(Long.compareUnsigned(size, 1L << MAX_CLASS) > 0){
+            return -1;
+        }
+        if(size <= 1L << MIN_CLASS){
+            return MIN_CLASS;
+        }
+        return 64 - Long.numberOfLeadingZeros(size - 1);
+    }
+    
+    /**
+     * Everything the pool and its buffers share. This must never reference
+     * the pool, buffers and thread caches would keep it from being
+     * collected and the cleaner would never free the blocks.
+     * */
+    private static final class State{
+        @Unsigned
+        private final long maxRetainedBytes;
+        private final int threadCacheSize;
+        
+        private final AtomicLong retainedBytes = new AtomicLong();
+        private final BlockStack[] sharedBlocks = new BlockStack[CLASS_COUNT];
+        private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::createThreadCache);
+        // Every thread cache of this pool, so blocks can be taken back from
+        //  threads that died and when the pool is closed.
+        private final List<ThreadCache> threadCaches = new ArrayList<>();
+        private volatile boolean closed = false;
+        
+        private State(@Unsigned long maxRetainedBytes, int threadCacheSize){
+            this.maxRetainedBytes = maxRetainedBytes;
+            this.threadCacheSize = threadCacheSize;
+            for(int i = 0; i < CLASS_COUNT; i++){
+                sharedBlocks[i] = new BlockStack(MIN_CLASS + i);
+            }
+        }
+        
+        private long take(int sizeClass){
+            long pointer = threadCache.get().take(sizeClass);
+            if(pointer == 0){
+                pointer = sharedBlocks[sizeClass - MIN_CLASS].pop();
+            }
+            if(pointer != 0){
+                retainedBytes.addAndGet(-(1L << sizeClass));
+            }
+            return pointer;
+        }
+        
+        /**
+         * Takes a block back from a buffer that was closed or collected.
+         * Only closed buffers use the cache of the current thread, collected
+         * ones are released on the cleaner thread and would strand the block
+         * in a cache no allocating thread ever looks at.
+         *
+         * @param pointer The block
+         * @param sizeClass The size class of the block
+         * @param explicit True if the buffer was closed, false if it was
+         *                 collected
+         * */
+        private void release(long pointer, int sizeClass, boolean explicit){
+            long size = 1L << sizeClass;
+            if(closed){
+                Allocator.free(pointer);
+                return;
+            }
+            if(Long.compareUnsigned(retainedBytes.addAndGet(size), maxRetainedBytes) > 0){
+                retainedBytes.addAndGet(-size);
+                Allocator.free(pointer);
+                return;
+            }
+            if(!explicit || !threadCache.get().offer(sizeClass, pointer, threadCacheSize)){
+                sharedBlocks[sizeClass - MIN_CLASS].push(pointer);
+            }
+            // The pool could have been closed while the block was added
+            if(closed){
+                trim();
+            }
+        }
+        
+        private void trim(){
+            List<ThreadCache> caches;
+            synchronized(threadCaches){
+                caches = new ArrayList<>(threadCaches);
+            }
+            for(ThreadCache cache : caches){
+                cache.drain(retainedBytes);
+            }
+            for(BlockStack stack : sharedBlocks){
+                stack.drain(retainedBytes);
+            }
+        }
+        
+        /**
+         * Frees every retained block, runs when the pool is closed or
+         * collected.
+         * */
+        private void close(){
+            closed = true;
+            trim();
+        }
+        
+        private ThreadCache createThreadCache(){
+            ThreadCache cache = new ThreadCache(Thread.currentThread());
+            synchronized(threadCaches){
+                // Hand the blocks of threads that are gone to the other threads
+                for(Iterator<ThreadCache> iterator = threadCaches.iterator(); iterator.hasNext();){
+                    ThreadCache old = iterator.next();
+                    if(old.thread.get() == null){
+                        old.moveTo(sharedBlocks);
+                        iterator.remove();
+                    }
+                }
+                threadCaches.add(cache);
+            }
+            return cache;
+        }
+    }
+    
+    private static void freeBlock(AtomicLong retainedBytes, long pointer, int sizeClass){
+        retainedBytes.addAndGet(-(1L << sizeClass));
+        Allocator.free(pointer);
+    }
+    
+    /**
+     * A stack of free blocks of one size class.
+     * */
+    private static final class BlockStack{
+        private final int sizeClass;
+        private long[] blocks = new long[4];
+        private int count = 0;
+        
+        private BlockStack(int sizeClass){
+            this.sizeClass = sizeClass;
+        }
+        
+        synchronized void push(long pointer){
+            if(count == blocks.length){
+                long[] newBlocks = new long[count * 2];
+                System.arraycopy(blocks, 0, newBlocks, 0, count);
+                blocks = newBlocks;
+            }
+            blocks[count++] = pointer;
+        }
+        
+        synchronized long pop(){
+            return count == 0 ? 0 : blocks[--count];
+        }
+        
+        synchronized void drain(AtomicLong retainedBytes){
+            while(count > 0){
+                freeBlock(retainedBytes, blocks[--count], sizeClass);
+            }
+        }
+    }
+    
+    /**
+     * The blocks a single thread keeps for itself. Other threads only touch
+     * it when they trim the pool, so the lock is almost never contended.
+     *
+     * Thread locals keep this alive for as long as the thread lives, so it
+     * must not reference the pool or its state.
+     * */
+    private static final class ThreadCache{
+        private final WeakReference<Thread> thread;
+        private final long[][] blocks = new long[CLASS_COUNT][];
+        private final int[] counts = new int[CLASS_COUNT];
+        
+        private ThreadCache(Thread thread){
+            this.thread = new WeakReference<>(thread);
+        }
+        
+        synchronized long take(int sizeClass){
+            int index = sizeClass - MIN_CLASS;
+            return counts[index] == 0 ? 0 : blocks[index][--counts[index]];
+        }
+        
+        synchronized boolean offer(int sizeClass, long pointer, int threadCacheSize){
+            int index = sizeClass - MIN_CLASS;
+            if(counts[index] == threadCacheSize){
+                return false;
+            }
+            if(blocks[index] == null){
+                blocks[index] = new long[threadCacheSize];
+            }
+            blocks[index][counts[index]++] = pointer;
+            return true;
+        }
+        
+        synchronized void drain(AtomicLong retainedBytes){
+            for(int index = 0; index < CLASS_COUNT; index++){
+                while(counts[index] > 0){
+                    freeBlock(retainedBytes, blocks[index][--counts[index]], MIN_CLASS + index);
+                }
+            }
+        }
+        
+        synchronized void moveTo(BlockStack[] sharedBlocks){
+            for(int index = 0; index < CLASS_COUNT; index++){
+                while(counts[index] > 0){
+                    sharedBlocks[index].push(blocks[index][--counts[index]]);
+                }
+            }
+        }
+    }
+}
@@ -1,27 +1,61 @@
 package net.gudenau.lib.largebuffers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.VarHandle;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
 import net.gudenau.lib.annotation.Unsigned;
 import net.gudenau.lib.largebuffers.implementation.DirectLargeByteBuffer;
+import net.gudenau.lib.largebuffers.implementation.SegmentedLargeByteBuffer;
+import net.gudenau.lib.largebuffers.implementation.UnsafeLargeByteBuffer;
 
 /**
  * Provides a {@link java.nio.ByteBuffer ByteBuffer} like interface that
  * supports much larger buffers, 16777216TiB instead of the
  * {@link java.nio.ByteBuffer ByteBuffer} limit of GiB.
+ *
+ * The memory is freed once the buffer is collected, or right away when
+ * the buffer is {@link #close() closed}.
  * */
 @SuppressWarnings({"unused", "WeakerAccess", "UnusedReturnValue"})
-public abstract class LargeByteBuffer{
+public abstract class LargeByteBuffer implements AutoCloseable{
+    // The largest window used for channel transfers, windows are limited
+    //  to 2GiB and the JDK splits large writes anyway.
+    private static final int WINDOW_SIZE = 1 << 30;
+    // The size of the arrays used by transfers that can not be done
+    //  natively.
+    private static final int TRANSFER_SIZE = 64 * 1024;
+    
+    @Unsigned
+    private long size;
+    // Zero for read only buffers so writes fail the normal bounds check
     @Unsigned
-    private final long size;
+    private long writableSize;
+    private final boolean readOnly;
+    private boolean freed = false;
     @Unsigned
     private long offset = 0;
     private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
     private boolean nativeOrder = byteOrder == ByteOrder.nativeOrder();
     
     protected LargeByteBuffer(long size){
+        this(size, false);
+    }
+    
+    protected LargeByteBuffer(long size, boolean readOnly){
         this.size = size;
+        this.writableSize = readOnly ? 0 : size;
+        this.readOnly = readOnly;
     }
     
     /**
@@ -34,6 +68,59 @@ public abstract class LargeByteBuffer{
         return size;
     }
     
+    /**
+     * Checks if this buffer can only be read from.
+     *
+     * @return True if writes are not allowed
+     * */
+    public final boolean isReadOnly(){
+        return readOnly;
+    }
+    
+    /**
+     * Checks if the memory of this buffer has been freed, a freed
+     * buffer can no longer be read from or written to.
+     *
+     * @return True if the memory was freed
+     * */
+    public final boolean isFreed(){
+        return freed;
+    }
+    
+    /**
+     * Marks the memory of this buffer as freed, after this every
+     * access will fail the bounds checks instead of touching the
+     * freed memory.
+     * */
+    protected final void invalidate(){
+        size = 0;
+        writableSize = 0;
+        offset = 0;
+        freed = true;
+    }
+    
+    /**
+     * Grows this buffer, the memory up to the new size has to be
+     * usable already.
+     *
+     * @param size The new size of the buffer
+     * */
+    protected final void grow(@Unsigned long size){
+        checkNotFreed();
+        if(Long.compareUnsigned(size, this.size) > 0){
+            this.size = size;
+            if(!readOnly){
+                writableSize = size;
+            }
+        }
+    }
+    
+    private void checkNotFreed(){
+        if(freed){
+            throw new IllegalStateException("buffer has been freed");
+        }
+    }
+    
     /**
      * Checks if the buffer can read an amount of bytes without
      * underflowing.
@@ -56,9 +143,11 @@ public abstract class LargeByteBuffer{
      *
      * @throws java.nio.BufferUnderflowException If the buffer
      *          would underflow with the read operation
+     * @throws java.lang.IllegalStateException If the buffer was freed
      * */
-    protected final void checkCapacityRead(@Unsigned long offset, int bytes){
-        if(Long.compareUnsigned(size, offset + bytes) < 0){
+    protected final void checkCapacityRead(@Unsigned long offset, @Unsigned long bytes){
+        if(!isInBounds(offset, bytes, size)){
+            checkNotFreed();
             throw new BufferUnderflowException();
         }
     }
@@ -85,23 +174,866 @@ public abstract class LargeByteBuffer{
      *
      * @throws java.nio.BufferOverflowException If the buffer
      *          would overflow with the write operation
-     * */
-    protected final void checkCapacityWrite(@Unsigned long offset, int bytes){
-        if(Long.compareUnsigned(size, offset + bytes) < 0){
+     * @throws java.nio.ReadOnlyBufferException If the buffer is read
+     *          only
+     * @throws java.lang.IllegalStateException If the buffer was freed
+     * */
+    protected final void checkCapacityWrite(@Unsigned long offset, @Unsigned long bytes){
+        if(!isInBounds(offset, bytes, writableSize)){
+            checkNotFreed();
+            if(readOnly){
+                throw new ReadOnlyBufferException();
+            }
             throw new BufferOverflowException();
         }
     }
     
+    /**
+     * Checks if a range of bytes fits inside of the buffer, without
+     * overflowing when the offset is close to the end of the address
+     * space.
+     *
+     * @param offset The offset into the buffer
+     * @param bytes The amount of bytes
+     * @param limit The size to check against
+     *
+     * @return True if the range is inside of the buffer
+     * */
+    private static boolean isInBounds(@Unsigned long offset, @Unsigned long bytes, @Unsigned long limit){
+        return Long.compareUnsigned(bytes, limit) <= 0 &&
+            Long.compareUnsigned(offset, limit - bytes) <= 0;
+    }
+    
+    /**
+     * Checks that an offset and length describe a valid range of an
+     * array.
+     *
+     * @param arrayLength The length of the array
+     * @param offset The offset into the array
+     * @param length The length of the data
+     *
+     * @throws java.lang.IllegalArgumentException If the offset and
+     *          length do not fit inside of the array
+     * */
+    protected static void checkArrayRange(int arrayLength, int offset, int length){
+        if(offset < 0 || length < 0 || arrayLength - offset < length){
+            throw new IllegalArgumentException("offset and length overflow values");
+        }
+    }
+    
     /**
      * Allocates a {@link LargeByteBuffer LargeByteBuffer} and returns it.
      *
+     * The Unsafe backed implementation is used when the JVM provides it,
+     * otherwise every access goes through JNI.
+     *
      * @return The allocated {@link LargeByteBuffer LargeByteBuffer}
      *
      * @throws OutOfMemoryError If the requested size could not be
      *          allocated
      * */
     public static LargeByteBuffer allocateDirect(@Unsigned long size){
-        return new DirectLargeByteBuffer(size);
+        return allocate(size, true);
+    }
+    
+    /**
+     * Allocates a {@link LargeByteBuffer LargeByteBuffer} without zeroing
+     * its memory and returns it. The contents are undefined, only use
+     * this when the whole buffer will be written before it is read.
+     *
+     * @return The allocated {@link LargeByteBuffer LargeByteBuffer}
+     *
+     * @throws OutOfMemoryError If the requested size could not be
+     *          allocated
+     * */
+    public static LargeByteBuffer allocateUninitialized(@Unsigned long size){
+        return allocate(size, false);
+    }
+    
+    /**
+     * Allocates a {@link LargeByteBuffer LargeByteBuffer} and applies
+     * some {@link MemoryAdvice MemoryAdvice} to all of it.
+     *
+     * The memory is mapped straight from the kernel instead of the
+     * allocator so the advice only applies to this buffer, with
+     * {@link MemoryAdvice#HUGEPAGE HUGEPAGE} it is also aligned to the
+     * huge page size. If the native library is not available or can not
+     * map memory, like on Windows, the advice is ignored.
+     *
+     * @param size The size of the buffer
+     * @param advice The advice to apply
+     *
+     * @return The allocated {@link LargeByteBuffer LargeByteBuffer}
+     *
+     * @throws OutOfMemoryError If the requested size could not be
+     *          allocated
+     * */
+    public static LargeByteBuffer allocateDirect(@Unsigned long size, MemoryAdvice... advice){
+        if(advice == null){
+            throw new NullPointerException("advice");
+        }
+        if(advice.length == 0){
+            return allocateDirect(size);
+        }
+        return DirectLargeByteBuffer.allocateAdvised(size, advice);
+    }
+    
+    private static LargeByteBuffer allocate(@Unsigned long size, boolean zero){
+        if(UnsafeLargeByteBuffer.isSupported()){
+            return new UnsafeLargeByteBuffer(size, zero);
+        }
+        return new DirectLargeByteBuffer(size, zero);
+    }
+    
+    /**
+     * Allocates a {@link LargeByteBuffer LargeByteBuffer} that can
+     * {@link #ensureCapacity(long) grow} up to a maximum size without
+     * moving or copying its memory.
+     *
+     * The address space for the maximum size is reserved up front but
+     * memory is only committed as the buffer grows, reserving far more
+     * than will be used is cheap. New memory reads as zeros.
+     *
+     * @param size The starting size of the buffer
+     * @param maxSize The largest size the buffer can grow to
+     *
+     * @return The allocated {@link LargeByteBuffer LargeByteBuffer}
+     *
+     * @throws java.lang.IllegalArgumentException If the size is larger
+     *          than the maximum size
+     * @throws java.lang.UnsupportedOperationException If the native
+     *          library is not available or can not map memory, like on
+     *          Windows
+     * @throws OutOfMemoryError If the address space could not be
+     *          reserved or the memory could not be committed
+     * */
+    public static LargeByteBuffer allocateGrowable(@Unsigned long size, @Unsigned long maxSize){
+        return DirectLargeByteBuffer.allocateGrowable(size, maxSize);
+    }
+    
+    /**
+     * Allocates a {@link LargeByteBuffer LargeByteBuffer} that is made out
+     * of 2MiB chunks which are only allocated once they are written to,
+     * see {@link #allocateSegmented(long, long)}.
+     *
+     * @param size The size of the buffer
+     *
+     * @return The allocated {@link LargeByteBuffer LargeByteBuffer}
+     * */
+    public static LargeByteBuffer allocateSegmented(@Unsigned long size){
+        return new SegmentedLargeByteBuffer(size);
+    }
+    
+    /**
+     * Allocates a {@link LargeByteBuffer LargeByteBuffer} that is made out
+     * of many chunks instead of a single block of memory. Chunks are only
+     * allocated once they are written to and read as zeros until then,
+     * so a huge buffer that is mostly empty only uses memory for the
+     * parts that hold data.
+     *
+     * The buffer can not be sliced or viewed as a
+     * {@link java.nio.ByteBuffer ByteBuffer} and values that cross a
+     * chunk boundary are slower to access.
+     *
+     * @param size The size of the buffer
+     * @param chunkSize The size of each chunk, a power of two that is
+     *                  at least 8
+     *
+     * @return The allocated {@link LargeByteBuffer LargeByteBuffer}
+     *
+     * @throws java.lang.IllegalArgumentException If the chunk size is not
+     *          a power of two, is smaller than 8 or the size needs too
+     *          many chunks
+     * @throws OutOfMemoryError If a chunk could not be allocated when it
+     *          is first written to
+     * */
+    public static LargeByteBuffer allocateSegmented(@Unsigned long size, @Unsigned long chunkSize){
+        return new SegmentedLargeByteBuffer(size, chunkSize);
+    }
+    
+    /**
+     * Maps a region of a file into memory and returns a
+     * {@link LargeByteBuffer LargeByteBuffer} over all of it, unlike
+     * {@link java.nio.channels.FileChannel#map FileChannel.map} the
+     * region is not limited to 2GiB.
+     *
+     * When mapped with {@link java.nio.channels.FileChannel.MapMode#READ_WRITE READ_WRITE}
+     * the file is grown to fit the region if required.
+     *
+     * @param path The file to map
+     * @param mode The mode to map the file with
+     * @param offset The offset into the file
+     * @param length The length of the region
+     *
+     * @return The mapped {@link LargeByteBuffer LargeByteBuffer}
+     *
+     * @throws java.io.IOException If the file could not be mapped
+     * @throws java.lang.IllegalArgumentException If the length was 0
+     * @throws java.lang.UnsupportedOperationException If the platform
+     *          does not support memory mapping, like Windows
+     * */
+    public static LargeByteBuffer map(Path path, FileChannel.MapMode mode, @Unsigned long offset, @Unsigned long length) throws IOException{
+        return DirectLargeByteBuffer.map(path, mode, offset, length);
+    }
+    
+    /**
+     * Forces any changes made to a region of this buffer to be
+     * written to the file it maps. Buffers that do not map a file have
+     * nothing to write, so this does nothing by default.
+     *
+     * @param offset The offset of the region
+     * @param length The length of the region
+     *
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * @throws java.io.UncheckedIOException If the changes could not be
+     *          written
+     * */
+    public void force(@Unsigned long offset, @Unsigned long length){
+        checkCapacityRead(offset, length);
+    }
+    
+    /**
+     * Forces any changes made to this buffer to be written to the
+     * file it maps.
+     *
+     * @throws java.io.UncheckedIOException If the changes could not be
+     *          written
+     * */
+    public final void force(){
+        force(0, size);
+    }
+    
+    /**
+     * Makes sure this buffer is at least a certain size, growing it if
+     * required. The memory of the buffer does not move, views of this
+     * buffer stay valid and keep their size. The buffer must not be in
+     * use by another thread while it grows.
+     *
+     * Only buffers from {@link #allocateGrowable(long, long) allocateGrowable}
+     * can grow.
+     *
+     * @param capacity The size the buffer needs to be
+     *
+     * @throws java.lang.UnsupportedOperationException If the buffer is
+     *          smaller than the capacity and can not grow
+     * @throws java.lang.IllegalArgumentException If the capacity is
+     *          larger than the maximum size of the buffer
+     * @throws java.lang.IllegalStateException If the buffer was freed
+     * @throws OutOfMemoryError If the memory could not be committed
+     * */
+    public void ensureCapacity(@Unsigned long capacity){
+        checkNotFreed();
+        if(Long.compareUnsigned(capacity, size) > 0){
+            throw new UnsupportedOperationException("buffer can not grow");
+        }
+    }
+    
+    /**
+     * Tells the operating system how a region of this buffer is going to
+     * be used. This is only a hint, it never changes what the buffer can
+     * do, apart from {@link MemoryAdvice#DONTNEED DONTNEED} leaving the
+     * contents of the region undefined.
+     *
+     * The advice applies to whole pages, {@link MemoryAdvice#DONTNEED DONTNEED}
+     * only applies to the pages that are entirely inside of the region.
+     * Buffers that do not have native memory ignore advice, so this only
+     * checks the range by default.
+     *
+     * @param offset The offset of the region
+     * @param length The length of the region
+     * @param advice The advice to apply
+     *
+     * @return True if the advice was applied
+     *
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * */
+    public boolean advise(@Unsigned long offset, @Unsigned long length, MemoryAdvice advice){
+        if(advice == null){
+            throw new NullPointerException("advice");
+        }
+        checkCapacityRead(offset, length);
+        return false;
+    }
+    
+    /**
+     * Unmaps the file that this buffer maps right away instead of
+     * waiting for the buffer to be collected. Any later access to the
+     * buffer will throw an {@link java.lang.IllegalStateException IllegalStateException}.
+     *
+     * Calling this more than once does nothing. The buffer must not be
+     * in use by another thread while it is unmapped.
+     *
+     * @throws java.lang.UnsupportedOperationException If the buffer
+     *          does not map a file
+     * */
+    public void unmap(){
+        throw new UnsupportedOperationException("buffer does not map a file");
+    }
+    
+    /**
+     * Frees the memory of this buffer right away instead of waiting for
+     * the buffer to be collected. Any later access to the buffer will
+     * throw an {@link java.lang.IllegalStateException IllegalStateException}.
+     *
+     * Closing a {@link #slice(long, long) slice} or a {@link #duplicate() duplicate}
+     * only invalidates that view, closing the buffer that owns the memory
+     * frees it and invalidates every view of it.
+     *
+     * Calling this more than once does nothing. The buffer must not be
+     * in use by another thread while it is closed.
+     * */
+    @Override
+    public void close(){
+        invalidate();
+    }
+    
+    /**
+     * Creates a new buffer that shares a region of the memory of this
+     * buffer, nothing is allocated or copied. The slice has its own
+     * size, offset and {@link java.nio.ByteOrder ByteOrder}, the offset
+     * starts at 0 and the {@link java.nio.ByteOrder ByteOrder} starts as
+     * the one of this buffer.
+     *
+     * A slice keeps this buffer reachable, if the memory of this buffer
+     * is freed explicitly all slices of it are freed as well.
+     *
+     * @param start The offset of the region
+     * @param length The length of the region
+     *
+     * @return The new slice
+     *
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * @throws java.lang.UnsupportedOperationException If the buffer
+     *          can not be sliced
+     * */
+    public LargeByteBuffer slice(@Unsigned long start, @Unsigned long length){
+        throw new UnsupportedOperationException("buffer can not be sliced");
+    }
+    
+    /**
+     * Creates a new buffer that shares all of the memory of this buffer,
+     * nothing is allocated or copied. The duplicate has its own offset
+     * and {@link java.nio.ByteOrder ByteOrder}, both start as the ones
+     * of this buffer.
+     *
+     * @return The new duplicate
+     *
+     * @throws java.lang.UnsupportedOperationException If the buffer
+     *          can not be duplicated
+     * */
+    public LargeByteBuffer duplicate(){
+        LargeByteBuffer duplicate = slice(0, size);
+        duplicate.setOffset(offset);
+        return duplicate;
+    }
+    
+    /**
+     * Creates a direct {@link java.nio.ByteBuffer ByteBuffer} that shares
+     * a region of the memory of this buffer, nothing is copied. The
+     * window starts with the current {@link java.nio.ByteOrder ByteOrder}
+     * of this buffer and is read only if this buffer is.
+     *
+     * The window keeps this buffer reachable, but if the memory is freed
+     * explicitly the window must no longer be used.
+     *
+     * @param offset The offset of the region
+     * @param length The length of the region
+     *
+     * @return The {@link java.nio.ByteBuffer ByteBuffer} window
+     *
+     * @throws java.lang.IllegalArgumentException If the length was
+     *          negative
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * @throws java.lang.UnsupportedOperationException If the buffer
+     *          can not be shared with a {@link java.nio.ByteBuffer ByteBuffer}
+     * */
+    public ByteBuffer asByteBuffer(@Unsigned long offset, int length){
+        throw new UnsupportedOperationException("buffer can not be shared with a ByteBuffer");
+    }
+    
+    /**
+     * Sets every byte in a region of this buffer to a value. Large
+     * regions are split across threads, see {@link Parallelism Parallelism}.
+     *
+     * @param offset The offset of the region
+     * @param length The length of the region
+     * @param value The value to set
+     *
+     * @throws java.nio.BufferOverflowException If the region is not
+     *          inside of the buffer
+     * */
+    public void fill(@Unsigned long offset, @Unsigned long length, byte value){
+        checkCapacityWrite(offset, length);
+        byte[] values = new byte[(int)Math.min(length, TRANSFER_SIZE)];
+        Arrays.fill(values, value);
+        for(long done = 0; done < length;){
+            int count = (int)Math.min(values.length, length - done);
+            putBytes(values, 0, count, offset + done);
+            done += count;
+        }
+    }
+    
+    /**
+     * Copies a region of this buffer into another buffer, the buffer can
+     * be this one and the regions may overlap. Large copies between
+     * native buffers are split across threads, see
+     * {@link Parallelism Parallelism}.
+     *
+     * @param offset The offset of the region in this buffer
+     * @param dest The buffer to copy into
+     * @param destOffset The offset of the region in the destination
+     * @param length The length of the region
+     *
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of this buffer
+     * @throws java.nio.BufferOverflowException If the region is not
+     *          inside of the destination
+     * */
+    public void copyTo(@Unsigned long offset, LargeByteBuffer dest, @Unsigned long destOffset, @Unsigned long length){
+        if(dest == null){
+            throw new NullPointerException("dest");
+        }
+        checkCapacityRead(offset, length);
+        dest.checkCapacityWrite(destOffset, length);
+        byte[] values = new byte[(int)Math.min(length, TRANSFER_SIZE)];
+        // Copy backwards when the end of the source overlaps the start of
+        //  the destination so it is read before it is overwritten.
+        boolean backwards = dest == this && Long.compareUnsigned(destOffset, offset) > 0;
+        for(long done = 0; done < length;){
+            int count = (int)Math.min(values.length, length - done);
+            long position = backwards ? length - done - count : done;
+            getBytes(values, 0, count, offset + position);
+            dest.putBytes(values, 0, count, destOffset + position);
+            done += count;
+        }
+    }
+    
+    /**
+     * Sorts longs that are stored in this buffer in ascending signed
+     * order, read with the byte order of this buffer. This is a radix
+     * sort that needs a scratch buffer the size of the longs, large
+     * regions are split across threads, see {@link Parallelism Parallelism}.
+     *
+     * @param offset The offset of the first long
+     * @param count The amount of longs
+     *
+     * @throws java.nio.BufferOverflowException If the longs are not
+     *          inside of the buffer
+     * @throws java.lang.OutOfMemoryError If the scratch buffer could
+     *          not be allocated
+     * */
+    public final void sortLongs(@Unsigned long offset, @Unsigned long count){
+        checkElementsWrite(offset, count, Long.BYTES);
+        RadixSort.sort(Long.BYTES, this, offset, null, 0, count);
+    }
+    
+    /**
+     * Sorts longs that are stored in this buffer in ascending signed
+     * order and moves the longs of another region along with them, like
+     * sorting an array of key/value pairs. Keys that are equal keep their
+     * order. This is a radix sort that needs a scratch buffer the size of
+     * the keys and values, large regions are split across threads, see
+     * {@link Parallelism Parallelism}.
+     *
+     * @param offset The offset of the first key
+     * @param count The amount of keys and values
+     * @param values The buffer that holds the values, can be this one
+     *               but the regions must not overlap
+     * @param valuesOffset The offset of the first value
+     *
+     * @throws java.nio.BufferOverflowException If the keys or values are
+     *          not inside of their buffers
+     * @throws java.lang.OutOfMemoryError If the scratch buffer could
+     *          not be allocated
+     * */
+    public final void sortLongs(@Unsigned long offset, @Unsigned long count, LargeByteBuffer values, @Unsigned long valuesOffset){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkElementsWrite(offset, count, Long.BYTES);
+        values.checkElementsWrite(valuesOffset, count, Long.BYTES);
+        RadixSort.sort(Long.BYTES, this, offset, values, valuesOffset, count);
+    }
+    
+    /**
+     * Sorts ints that are stored in this buffer in ascending signed
+     * order, read with the byte order of this buffer. This is a radix
+     * sort that needs a scratch buffer the size of the ints, large
+     * regions are split across threads, see {@link Parallelism Parallelism}.
+     *
+     * @param offset The offset of the first int
+     * @param count The amount of ints
+     *
+     * @throws java.nio.BufferOverflowException If the ints are not
+     *          inside of the buffer
+     * @throws java.lang.OutOfMemoryError If the scratch buffer could
+     *          not be allocated
+     * */
+    public final void sortInts(@Unsigned long offset, @Unsigned long count){
+        checkElementsWrite(offset, count, Integer.BYTES);
+        RadixSort.sort(Integer.BYTES, this, offset, null, 0, count);
+    }
+    
+    /**
+     * Sorts ints that are stored in this buffer in ascending signed
+     * order and moves the ints of another region along with them, like
+     * sorting an array of key/value pairs. Keys that are equal keep their
+     * order. This is a radix sort that needs a scratch buffer the size of
+     * the keys and values, large regions are split across threads, see
+     * {@link Parallelism Parallelism}.
+     *
+     * @param offset The offset of the first key
+     * @param count The amount of keys and values
+     * @param values The buffer that holds the values, can be this one
+     *               but the regions must not overlap
+     * @param valuesOffset The offset of the first value
+     *
+     * @throws java.nio.BufferOverflowException If the keys or values are
+     *          not inside of their buffers
+     * @throws java.lang.OutOfMemoryError If the scratch buffer could
+     *          not be allocated
+     * */
+    public final void sortInts(@Unsigned long offset, @Unsigned long count, LargeByteBuffer values, @Unsigned long valuesOffset){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkElementsWrite(offset, count, Integer.BYTES);
+        values.checkElementsWrite(valuesOffset, count, Integer.BYTES);
+        RadixSort.sort(Integer.BYTES, this, offset, values, valuesOffset, count);
+    }
+    
+    private void checkElementsWrite(@Unsigned long offset, @Unsigned long count, int elementSize){
+        // A count that overflows can never fit
+        checkCapacityWrite(offset, Long.compareUnsigned(count, Long.divideUnsigned(-1L, elementSize)) > 0 ? -1L : count * elementSize);
+    }
+    
+    /**
+     * Finds the first byte that differs between a region of this buffer
+     * and a region of another buffer. Native buffers are compared in
+     * native code with vectorized instructions, other buffers are
+     * compared in bulk.
+     *
+     * @param offset The offset of the region in this buffer
+     * @param other The buffer to compare with, can be this one
+     * @param otherOffset The offset of the region in the other buffer
+     * @param length The length of the regions
+     *
+     * @return The index of the first byte that differs, relative to the
+     *          start of the regions, or -1 if the regions are equal
+     *
+     * @throws java.nio.BufferUnderflowException If either region is not
+     *          inside of its buffer
+     * */
+    public long mismatch(@Unsigned long offset, LargeByteBuffer other, @Unsigned long otherOffset, @Unsigned long length){
+        if(other == null){
+            throw new NullPointerException("other");
+        }
+        checkCapacityRead(offset, length);
+        other.checkCapacityRead(otherOffset, length);
+        int transferSize = (int)Math.min(length, TRANSFER_SIZE);
+        byte[] values = new byte[transferSize];
+        byte[] otherValues = new byte[transferSize];
+        for(long done = 0; done < length;){
+            int count = (int)Math.min(transferSize, length - done);
+            getBytes(values, 0, count, offset + done);
+            other.getBytes(otherValues, 0, count, otherOffset + done);
+            int index = Arrays.mismatch(values, 0, count, otherValues, 0, count);
+            if(index != -1){
+                return done + index;
+            }
+            done += count;
+        }
+        return -1;
+    }
+    
+    /**
+     * Checks if a region of this buffer has the same bytes as a region of
+     * another buffer, see {@link #mismatch(long, LargeByteBuffer, long, long) mismatch}.
+     *
+     * @param offset The offset of the region in this buffer
+     * @param other The buffer to compare with, can be this one
+     * @param otherOffset The offset of the region in the other buffer
+     * @param length The length of the regions
+     *
+     * @return True if the regions are equal
+     *
+     * @throws java.nio.BufferUnderflowException If either region is not
+     *          inside of its buffer
+     * */
+    public final boolean equals(@Unsigned long offset, LargeByteBuffer other, @Unsigned long otherOffset, @Unsigned long length){
+        return mismatch(offset, other, otherOffset, length) == -1;
+    }
+    
+    /**
+     * Compares a region of this buffer with a region of another buffer
+     * lexicographically, treating the bytes as unsigned like
+     * {@link java.util.Arrays#compareUnsigned(byte[], byte[]) Arrays.compareUnsigned}.
+     * See {@link #mismatch(long, LargeByteBuffer, long, long) mismatch}.
+     *
+     * @param offset The offset of the region in this buffer
+     * @param other The buffer to compare with, can be this one
+     * @param otherOffset The offset of the region in the other buffer
+     * @param length The length of the regions
+     *
+     * @return 0 if the regions are equal, a negative value if the region
+     *          of this buffer comes first and a positive value otherwise
+     *
+     * @throws java.nio.BufferUnderflowException If either region is not
+     *          inside of its buffer
+     * */
+    public final int compareTo(@Unsigned long offset, LargeByteBuffer other, @Unsigned long otherOffset, @Unsigned long length){
+        long index = mismatch(offset, other, otherOffset, length);
+        if(index == -1){
+            return 0;
+        }
+        return Integer.compare(
+            Byte.toUnsignedInt(getByte(offset + index)),
+            Byte.toUnsignedInt(other.getByte(otherOffset + index))
+        );
+    }
+    
+    /**
+     * Calculates the hash code of a region of this buffer. The result is
+     * the same as {@link java.util.Arrays#hashCode(byte[]) Arrays.hashCode}
+     * of an array with the bytes of the region. Native buffers hash in
+     * native code eight bytes at a time.
+     *
+     * @param offset The offset of the region
+     * @param length The length of the region
+     *
+     * @return The hash code of the region
+     *
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * */
+    public int hashCode(@Unsigned long offset, @Unsigned long length){
+        checkCapacityRead(offset, length);
+        byte[] values = new byte[(int)Math.min(length, TRANSFER_SIZE)];
+        int hash = 1;
+        for(long done = 0; done < length;){
+            int count = (int)Math.min(values.length, length - done);
+            getBytes(values, 0, count, offset + done);
+            for(int i = 0; i < count; i++){
+                hash = 31 * hash + values[i];
+            }
+            done += count;
+        }
+        return hash;
+    }
+    
+    /**
+     * Calculates the CRC-32C of a region of this buffer, the same value
+     * {@link java.util.zip.CRC32C CRC32C} produces for the bytes. The
+     * region is read in place through {@link #asByteBuffer(long, int) windows}
+     * when the buffer allows it, so the CRC instructions of the CPU are
+     * used without copying. Large regions are split across threads, see
+     * {@link Parallelism Parallelism}.
+     *
+     * @param offset The offset of the region
+     * @param length The length of the region
+     *
+     * @return The CRC-32C of the region
+     *
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * */
+    public final long crc32c(@Unsigned long offset, @Unsigned long length){
+        checkCapacityRead(offset, length);
+        return Checksums.crc32c(this, offset, length);
+    }
+    
+    /**
+     * Calculates a fast 64 bit hash of a region of this buffer, this is
+     * not a cryptographic hash.
+     *
+     * Regions of up to 4MiB hash to their XXH64 with a seed of 0. Longer
+     * regions are split into 4MiB blocks that are hashed with XXH64, and
+     * the result is the XXH64 of the block hashes as little endian longs
+     * seeded with the length of the region. The blocks are hashed across
+     * threads when the region is large, see {@link Parallelism Parallelism},
+     * the result does not depend on the amount of threads.
+     *
+     * @param offset The offset of the region
+     * @param length The length of the region
+     *
+     * @return The hash of the region
+     *
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * */
+    public final long hash64(@Unsigned long offset, @Unsigned long length){
+        checkCapacityRead(offset, length);
+        return Checksums.hash64(this, offset, length);
+    }
+    
+    /**
+     * Creates an {@link java.io.InputStream InputStream} that reads a
+     * region of this buffer. Reads into arrays, skips and transfers are
+     * done in bulk. The stream has its own position, the offset of this
+     * buffer is not used or changed.
+     *
+     * @param start The offset of the region
+     * @param length The length of the region
+     *
+     * @return The {@link java.io.InputStream InputStream}
+     *
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * */
+    public InputStream asInputStream(@Unsigned long start, @Unsigned long length){
+        checkCapacityRead(start, length);
+        return new LargeByteBufferInputStream(this, start, length);
+    }
+    
+    /**
+     * Creates an {@link java.io.OutputStream OutputStream} that writes
+     * into this buffer, starting at an offset. Writes of arrays are done
+     * in bulk, writing past the end of the buffer throws an
+     * {@link java.io.IOException IOException}. The stream has its own
+     * position, the offset of this buffer is not used or changed.
+     *
+     * @param start The offset to start writing at
+     *
+     * @return The {@link java.io.OutputStream OutputStream}
+     *
+     * @throws java.nio.BufferOverflowException If the start is past
+     *          the end of the buffer
+     * */
+    public OutputStream asOutputStream(@Unsigned long start){
+        checkCapacityWrite(start, 0);
+        return new LargeByteBufferOutputStream(this, start);
+    }
+    
+    /**
+     * Reads a region of a file straight into a region of this buffer,
+     * stopping early if the end of the file is reached. The region can
+     * be larger than 2GiB, it is read through {@link #asByteBuffer(long, int) windows}
+     * of this buffer so the data is never copied through the heap.
+     *
+     * The position of the channel is not changed.
+     *
+     * @param channel The channel to read from
+     * @param filePosition The position in the file to start reading at
+     * @param offset The offset in this buffer to read into
+     * @param length The amount of bytes to read
+     *
+     * @return The amount of bytes that were read
+     *
+     * @throws java.io.IOException If the channel could not be read
+     * @throws java.nio.BufferOverflowException If the region is not
+     *          inside of the buffer
+     * @throws java.lang.UnsupportedOperationException If the buffer
+     *          can not be shared with a {@link java.nio.ByteBuffer ByteBuffer}
+     * */
+    @Unsigned
+    public long readFrom(FileChannel channel, @Unsigned long filePosition, @Unsigned long offset, @Unsigned long length) throws IOException{
+        if(channel == null){
+            throw new NullPointerException("channel");
+        }
+        checkCapacityWrite(offset, length);
+        long total = 0;
+        while(total < length){
+            ByteBuffer window = asByteBuffer(offset + total, (int)Math.min(length - total, WINDOW_SIZE));
+            while(window.hasRemaining()){
+                int read = channel.read(window, filePosition + total);
+                if(read < 0){
+                    return total;
+                }
+                total += read;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Writes a region of this buffer straight into a region of a file,
+     * growing the file if required. The region can be larger than 2GiB,
+     * it is written through {@link #asByteBuffer(long, int) windows} of
+     * this buffer so the data is never copied through the heap.
+     *
+     * The position of the channel is not changed.
+     *
+     * @param channel The channel to write to
+     * @param filePosition The position in the file to start writing at
+     * @param offset The offset in this buffer to write from
+     * @param length The amount of bytes to write
+     *
+     * @throws java.io.IOException If the channel could not be written
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * @throws java.lang.UnsupportedOperationException If the buffer
+     *          can not be shared with a {@link java.nio.ByteBuffer ByteBuffer}
+     * */
+    public void writeTo(FileChannel channel, @Unsigned long filePosition, @Unsigned long offset, @Unsigned long length) throws IOException{
+        if(channel == null){
+            throw new NullPointerException("channel");
+        }
+        checkCapacityRead(offset, length);
+        long total = 0;
+        while(total < length){
+            ByteBuffer window = asByteBuffer(offset + total, (int)Math.min(length - total, WINDOW_SIZE));
+            while(window.hasRemaining()){
+                total += channel.write(window, filePosition + total);
+            }
+        }
+    }
+    
+    /**
+     * Writes a region of this buffer to a channel in compressed chunks,
+     * it can be restored with {@link #loadCompressed(ReadableByteChannel, long) loadCompressed}.
+     * Chunks that are all zeros only take a few bytes. Large regions are
+     * compressed on multiple threads, see {@link Parallelism Parallelism},
+     * the channel is always written in order from its current position.
+     *
+     * @param channel The channel to write to
+     * @param offset The offset of the region
+     * @param length The length of the region
+     *
+     * @return The amount of bytes that were written to the channel
+     *
+     * @throws java.io.IOException If the channel could not be written
+     * @throws java.nio.BufferUnderflowException If the region is not
+     *          inside of the buffer
+     * */
+    @Unsigned
+    public final long saveCompressed(WritableByteChannel channel, @Unsigned long offset, @Unsigned long length) throws IOException{
+        if(channel == null){
+            throw new NullPointerException("channel");
+        }
+        checkCapacityRead(offset, length);
+        return Compression.save(this, channel, offset, length);
+    }
+    
+    /**
+     * Restores a region that was written with
+     * {@link #saveCompressed(WritableByteChannel, long, long) saveCompressed}
+     * into this buffer. Chunks are decompressed on multiple threads when
+     * the region is large, see {@link Parallelism Parallelism}, chunks
+     * that were stored without compression are read straight into the
+     * buffer when it can be shared with a {@link java.nio.ByteBuffer ByteBuffer}.
+     *
+     * @param channel The channel to read from, starting at its current
+     *                position
+     * @param offset The offset in this buffer to restore the region to
+     *
+     * @return The length of the restored region
+     *
+     * @throws java.io.IOException If the channel could not be read or the
+     *          data is corrupt
+     * @throws java.nio.BufferOverflowException If the region does not fit
+     *          inside of the buffer
+     * */
+    @Unsigned
+    public final long loadCompressed(ReadableByteChannel channel, @Unsigned long offset) throws IOException{
+        if(channel == null){
+            throw new NullPointerException("channel");
+        }
+        checkCapacityWrite(offset, 0);
+        return Compression.load(this, channel, offset);
     }
     
     /**
@@ -473,7 +1405,7 @@ public abstract class LargeByteBuffer{
      *          space
      * */
     public void putBoolean(boolean value, @Unsigned long offset){
-        putByte((byte)(value ? 0 : 1), offset);
+        putByte((byte)(value ? 1 : 0), offset);
     }
     /**
      * Puts a byte at the current offset, then increments the offset.
@@ -552,6 +1484,474 @@ public abstract class LargeByteBuffer{
         putLong(Double.doubleToRawLongBits(value), offset);
     }
     
+    /**
+     * Makes sure no load or store before the fence is reordered with a
+     * load or store after it.
+     * */
+    public static void fullFence(){
+        VarHandle.fullFence();
+    }
+    
+    /**
+     * Makes sure no load before the fence is reordered with a load or
+     * store after it.
+     * */
+    public static void acquireFence(){
+        VarHandle.acquireFence();
+    }
+    
+    /**
+     * Makes sure no load or store before the fence is reordered with a
+     * store after it.
+     * */
+    public static void releaseFence(){
+        VarHandle.releaseFence();
+    }
+    
+    // The atomic accessors below need offsets that are aligned to the
+    //  size of the value in memory, not only in the buffer, they throw
+    //  IllegalArgumentException otherwise.
+    
+    /**
+     * Gets the int at the supplied offset with a volatile read, the read
+     * is never reordered with other volatile accesses.
+     *
+     * @param offset The offset to read
+     *
+     * @return The int
+     *
+     * @throws java.nio.BufferUnderflowException If the buffer ran out of
+     *          data
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final int getIntVolatile(@Unsigned long offset){
+        int value = getIntVolatileRaw(offset);
+        return isByteOrderNative() ? value : Integer.reverseBytes(value);
+    }
+    
+    /**
+     * Puts the int at the supplied offset with a volatile write, the
+     * write is never reordered with other volatile accesses.
+     *
+     * @param value The value to put
+     * @param offset The offset to write
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final void putIntVolatile(int value, @Unsigned long offset){
+        putIntVolatileRaw(isByteOrderNative() ? value : Integer.reverseBytes(value), offset);
+    }
+    
+    /**
+     * Puts the int at the supplied offset with a release write, no access
+     * before the write is reordered after it. Cheaper than a volatile
+     * write when publishing a value to other threads.
+     *
+     * @param value The value to put
+     * @param offset The offset to write
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final void putIntRelease(int value, @Unsigned long offset){
+        putIntReleaseRaw(isByteOrderNative() ? value : Integer.reverseBytes(value), offset);
+    }
+    
+    /**
+     * Atomically sets the int at the supplied offset if it is the
+     * expected value.
+     *
+     * @param expected The expected value
+     * @param value The new value
+     * @param offset The offset to update
+     *
+     * @return True if the value was set
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final boolean compareAndSetInt(int expected, int value, @Unsigned long offset){
+        if(isByteOrderNative()){
+            return compareAndSetIntRaw(expected, value, offset);
+        }
+        return compareAndSetIntRaw(Integer.reverseBytes(expected), Integer.reverseBytes(value), offset);
+    }
+    
+    /**
+     * Atomically adds to the int at the supplied offset.
+     *
+     * @param delta The value to add
+     * @param offset The offset to update
+     *
+     * @return The previous value
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final int getAndAddInt(int delta, @Unsigned long offset){
+        if(isByteOrderNative()){
+            return getAndAddIntRaw(delta, offset);
+        }
+        // The addition has to happen in the order of the buffer
+        int current;
+        do{
+            current = getIntVolatileRaw(offset);
+        }while(!compareAndSetIntRaw(current, Integer.reverseBytes(Integer.reverseBytes(current) + delta), offset));
+        return Integer.reverseBytes(current);
+    }
+    
+    /**
+     * Atomically sets the int at the supplied offset.
+     *
+     * @param value The new value
+     * @param offset The offset to update
+     *
+     * @return The previous value
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final int getAndSetInt(int value, @Unsigned long offset){
+        if(isByteOrderNative()){
+            return getAndSetIntRaw(value, offset);
+        }
+        return Integer.reverseBytes(getAndSetIntRaw(Integer.reverseBytes(value), offset));
+    }
+    
+    /**
+     * Gets the long at the supplied offset with a volatile read, the read
+     * is never reordered with other volatile accesses.
+     *
+     * @param offset The offset to read
+     *
+     * @return The long
+     *
+     * @throws java.nio.BufferUnderflowException If the buffer ran out of
+     *          data
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final long getLongVolatile(@Unsigned long offset){
+        long value = getLongVolatileRaw(offset);
+        return isByteOrderNative() ? value : Long.reverseBytes(value);
+    }
+    
+    /**
+     * Puts the long at the supplied offset with a volatile write, the
+     * write is never reordered with other volatile accesses.
+     *
+     * @param value The value to put
+     * @param offset The offset to write
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final void putLongVolatile(long value, @Unsigned long offset){
+        putLongVolatileRaw(isByteOrderNative() ? value : Long.reverseBytes(value), offset);
+    }
+    
+    /**
+     * Puts the long at the supplied offset with a release write, no access
+     * before the write is reordered after it. Cheaper than a volatile
+     * write when publishing a value to other threads.
+     *
+     * @param value The value to put
+     * @param offset The offset to write
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final void putLongRelease(long value, @Unsigned long offset){
+        putLongReleaseRaw(isByteOrderNative() ? value : Long.reverseBytes(value), offset);
+    }
+    
+    /**
+     * Atomically sets the long at the supplied offset if it is the
+     * expected value.
+     *
+     * @param expected The expected value
+     * @param value The new value
+     * @param offset The offset to update
+     *
+     * @return True if the value was set
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final boolean compareAndSetLong(long expected, long value, @Unsigned long offset){
+        if(isByteOrderNative()){
+            return compareAndSetLongRaw(expected, value, offset);
+        }
+        return compareAndSetLongRaw(Long.reverseBytes(expected), Long.reverseBytes(value), offset);
+    }
+    
+    /**
+     * Atomically adds to the long at the supplied offset.
+     *
+     * @param delta The value to add
+     * @param offset The offset to update
+     *
+     * @return The previous value
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final long getAndAddLong(long delta, @Unsigned long offset){
+        if(isByteOrderNative()){
+            return getAndAddLongRaw(delta, offset);
+        }
+        // The addition has to happen in the order of the buffer
+        long current;
+        do{
+            current = getLongVolatileRaw(offset);
+        }while(!compareAndSetLongRaw(current, Long.reverseBytes(Long.reverseBytes(current) + delta), offset));
+        return Long.reverseBytes(current);
+    }
+    
+    /**
+     * Atomically sets the long at the supplied offset.
+     *
+     * @param value The new value
+     * @param offset The offset to update
+     *
+     * @return The previous value
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * @throws java.lang.IllegalArgumentException If the offset is not
+     *          aligned
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    public final long getAndSetLong(long value, @Unsigned long offset){
+        if(isByteOrderNative()){
+            return getAndSetLongRaw(value, offset);
+        }
+        return Long.reverseBytes(getAndSetLongRaw(Long.reverseBytes(value), offset));
+    }
+    
+    /**
+     * Gets a int in native byte order, ignoring the byte order of the
+     * buffer. Used by the typed arrays, implementations override this to
+     * skip the byte order check.
+     *
+     * @throws java.nio.BufferUnderflowException If the buffer ran out of
+     *          data
+     * */
+    protected int getIntRaw(@Unsigned long offset){
+        int value = getInt(offset);
+        return isByteOrderNative() ? value : Integer.reverseBytes(value);
+    }
+    
+    /**
+     * Puts a int in native byte order, ignoring the byte order of the
+     * buffer. Used by the typed arrays, implementations override this to
+     * skip the byte order check.
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * */
+    protected void putIntRaw(int value, @Unsigned long offset){
+        putInt(isByteOrderNative() ? value : Integer.reverseBytes(value), offset);
+    }
+    
+    /**
+     * Gets a long in native byte order, ignoring the byte order of the
+     * buffer. Used by the typed arrays, implementations override this to
+     * skip the byte order check.
+     *
+     * @throws java.nio.BufferUnderflowException If the buffer ran out of
+     *          data
+     * */
+    protected long getLongRaw(@Unsigned long offset){
+        long value = getLong(offset);
+        return isByteOrderNative() ? value : Long.reverseBytes(value);
+    }
+    
+    /**
+     * Puts a long in native byte order, ignoring the byte order of the
+     * buffer. Used by the typed arrays, implementations override this to
+     * skip the byte order check.
+     *
+     * @throws java.nio.BufferOverflowException If the buffer ran out of
+     *          space
+     * */
+    protected void putLongRaw(long value, @Unsigned long offset){
+        putLong(isByteOrderNative() ? value : Long.reverseBytes(value), offset);
+    }
+    
+    /**
+     * Volatile read of a int in native byte order, implementations that
+     * support atomic access override this.
+     *
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    protected int getIntVolatileRaw(@Unsigned long offset){
+        throw new UnsupportedOperationException("buffer does not support atomic access");
+    }
+    
+    /**
+     * Volatile write of a int in native byte order, implementations that
+     * support atomic access override this.
+     *
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    protected void putIntVolatileRaw(int value, @Unsigned long offset){
+        throw new UnsupportedOperationException("buffer does not support atomic access");
+    }
+    
+    /**
+     * Release write of a int in native byte order, a volatile write by
+     * default.
+     * */
+    protected void putIntReleaseRaw(int value, @Unsigned long offset){
+        putIntVolatileRaw(value, offset);
+    }
+    
+    /**
+     * Compare and set of a int in native byte order, implementations that
+     * support atomic access override this.
+     *
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    protected boolean compareAndSetIntRaw(int expected, int value, @Unsigned long offset){
+        throw new UnsupportedOperationException("buffer does not support atomic access");
+    }
+    
+    /**
+     * Atomic add to a int in native byte order, a compare and set loop by
+     * default.
+     * */
+    protected int getAndAddIntRaw(int delta, @Unsigned long offset){
+        int current;
+        do{
+            current = getIntVolatileRaw(offset);
+        }while(!compareAndSetIntRaw(current, current + delta, offset));
+        return current;
+    }
+    
+    /**
+     * Atomic swap of a int in native byte order, a compare and set loop by
+     * default.
+     * */
+    protected int getAndSetIntRaw(int value, @Unsigned long offset){
+        int current;
+        do{
+            current = getIntVolatileRaw(offset);
+        }while(!compareAndSetIntRaw(current, value, offset));
+        return current;
+    }
+    
+    /**
+     * Volatile read of a long in native byte order, implementations that
+     * support atomic access override this.
+     *
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    protected long getLongVolatileRaw(@Unsigned long offset){
+        throw new UnsupportedOperationException("buffer does not support atomic access");
+    }
+    
+    /**
+     * Volatile write of a long in native byte order, implementations that
+     * support atomic access override this.
+     *
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    protected void putLongVolatileRaw(long value, @Unsigned long offset){
+        throw new UnsupportedOperationException("buffer does not support atomic access");
+    }
+    
+    /**
+     * Release write of a long in native byte order, a volatile write by
+     * default.
+     * */
+    protected void putLongReleaseRaw(long value, @Unsigned long offset){
+        putLongVolatileRaw(value, offset);
+    }
+    
+    /**
+     * Compare and set of a long in native byte order, implementations that
+     * support atomic access override this.
+     *
+     * @throws java.lang.UnsupportedOperationException If the buffer does
+     *          not support atomic access
+     * */
+    protected boolean compareAndSetLongRaw(long expected, long value, @Unsigned long offset){
+        throw new UnsupportedOperationException("buffer does not support atomic access");
+    }
+    
+    /**
+     * Atomic add to a long in native byte order, a compare and set loop by
+     * default.
+     * */
+    protected long getAndAddLongRaw(long delta, @Unsigned long offset){
+        long current;
+        do{
+            current = getLongVolatileRaw(offset);
+        }while(!compareAndSetLongRaw(current, current + delta, offset));
+        return current;
+    }
+    
+    /**
+     * Atomic swap of a long in native byte order, a compare and set loop by
+     * default.
+     * */
+    protected long getAndSetLongRaw(long value, @Unsigned long offset){
+        long current;
+        do{
+            current = getLongVolatileRaw(offset);
+        }while(!compareAndSetLongRaw(current, value, offset));
+        return current;
+    }
+    
     /**
      * Gets an array of boolean values from the buffer, incrementing
      * the offset by the count.
@@ -0,0 +1,128 @@
+package net.gudenau.lib.largebuffers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import net.gudenau.lib.annotation.Unsigned;
+
+/**
+ * An {@link java.io.InputStream InputStream} that reads a region of a
+ * {@link LargeByteBuffer LargeByteBuffer}, see
+ * {@link LargeByteBuffer#asInputStream(long, long)}.
+ *
+ * Array reads use the bulk transfers of the buffer instead of reading
+ * a byte at a time.
+ * */
+final class LargeByteBufferInputStream extends InputStream{
+    // The size of the array used by transferTo
+    private static final int TRANSFER_SIZE = 64 * 1024;
+    
+    private final LargeByteBuffer buffer;
+    @Unsigned
+    private final long end;
+    @Unsigned
+    private long position;
+    @Unsigned
+    private long mark;
+    private boolean closed = false;
+    
+    LargeByteBufferInputStream(LargeByteBuffer buffer, @Unsigned long start, @Unsigned long length){
+        this.buffer = buffer;
+        this.position = start;
+        this.mark = start;
+        this.end = start + length;
+    }
+    
+    private void ensureOpen() throws IOException{
+        if(closed){
+            throw new IOException("stream was closed");
+        }
+    }
+    
+    @Override
+    public int read() throws IOException{
+        ensureOpen();
+        if(position == end){
+            return -1;
+        }
+        return buffer.getByte(position++) & 0xFF;
+    }
+    
+    @Override
+    public int read(byte[] values, int offset, int length) throws IOException{
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        Objects.checkFromIndexSize(offset, length, values.length);
+        ensureOpen();
+        if(length == 0){
+            return 0;
+        }
+        if(position == end){
+            return -1;
+        }
+        int count = (int)Math.min(length, end - position);
+        buffer.getBytes(values, offset, count, position);
+        position += count;
+        return count;
+    }
+    
+    @Override
+    public long skip(long count) throws IOException{
+        ensureOpen();
+        if(count <= 0){
+            return 0;
+        }
+        long skipped = Math.min(count, end - position);
+        position += skipped;
+        return skipped;
+    }
+    
+    @Override
+    public int available() throws IOException{
+        ensureOpen();
+        return (int)Math.min(Integer.MAX_VALUE, end - position);
+    }
+    
+    @Override
+    public long transferTo(OutputStream out) throws IOException{
+        if(out == null){
+            throw new NullPointerException("out");
+        }
+        ensureOpen();
+        long total = end - position;
+        byte[] values = new byte[(int)Math.min(TRANSFER_SIZE, total)];
+        while(position != end){
+            int count = (int)Math.min(values.length, end - position);
+            buffer.getBytes(values, 0, count, position);
+            out.write(values, 0, count);
+            position += count;
+        }
+        return total;
+    }
+    
+    @Override
+    public boolean markSupported(){
+        return true;
+    }
+    
+    @Override
+    public synchronized void mark(int readLimit){
+        mark = position;
+    }
+    
+    @Override
+    public synchronized void reset() throws IOException{
+        ensureOpen();
+        position = mark;
+    }
+    
+    /**
+     * Closes the stream, the buffer stays usable.
+     * */
+    @Override
+    public void close(){
+        closed = true;
+    }
+}
@@ -0,0 +1,60 @@
+package net.gudenau.lib.largebuffers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import net.gudenau.lib.annotation.Unsigned;
+
+/**
+ * An {@link java.io.OutputStream OutputStream} that writes into a
+ * {@link LargeByteBuffer LargeByteBuffer}, see
+ * {@link LargeByteBuffer#asOutputStream(long)}.
+ *
+ * Array writes use the bulk transfers of the buffer instead of writing
+ * a byte at a time.
+ * */
+final class LargeByteBufferOutputStream extends OutputStream{
+    private final LargeByteBuffer buffer;
+    @Unsigned
+    private long position;
+    private boolean closed = false;
+    
+    LargeByteBufferOutputStream(LargeByteBuffer buffer, @Unsigned long start){
+        this.buffer = buffer;
+        this.position = start;
+    }
+    
+    private void ensureCapacity(int length) throws IOException{
+        if(closed){
+            throw new IOException("stream was closed");
+        }
+        if(Long.compareUnsigned(length, buffer.getSize() - position) > 0){
+            throw new IOException("end of buffer reached");
+        }
+    }
+    
+    @Override
+    public void write(int value) throws IOException{
+        ensureCapacity(1);
+        buffer.putByte((byte)value, position++);
+    }
+    
+    @Override
+    public void write(byte[] values, int offset, int length) throws IOException{
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        Objects.checkFromIndexSize(offset, length, values.length);
+        ensureCapacity(length);
+        buffer.putBytes(values, offset, length, position);
+        position += length;
+    }
+    
+    /**
+     * Closes the stream, the buffer stays usable.
+     * */
+    @Override
+    public void close(){
+        closed = true;
+    }
+}
@@ -0,0 +1,227 @@
+package net.gudenau.lib.largebuffers;
+
+import net.gudenau.lib.annotation.Unsigned;
+
+/**
+ * An array of longs that lives in a {@link LargeByteBuffer LargeByteBuffer},
+ * indexed by element instead of by byte and not limited to 2^31 elements.
+ *
+ * Elements are stored in native byte order no matter what the byte order
+ * of the buffer is set to, so no access ever swaps bytes.
+ * */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class LargeLongArray implements AutoCloseable{
+    private static final int SHIFT = 3;
+    
+    private final LargeByteBuffer buffer;
+    @Unsigned
+    private final long length;
+    
+    /**
+     * Allocates a new zeroed array.
+     *
+     * @param length The amount of elements
+     *
+     * @throws java.lang.IllegalArgumentException If the array would be
+     *          larger than the address space
+     * @throws OutOfMemoryError If the array could not be allocated
+     * */
+    public LargeLongArray(@Unsigned long length){
+        if(Long.compareUnsigned(length, -1L >>> SHIFT) > 0){
+            throw new IllegalArgumentException("length is too large");
+        }
+        this.buffer = LargeByteBuffer.allocateDirect(length << SHIFT);
+        this.length = length;
+    }
+    
+    /**
+     * Creates an array that uses the memory of a buffer, any bytes past
+     * the last whole element are not used.
+     *
+     * @param buffer The buffer to use
+     * */
+    public LargeLongArray(LargeByteBuffer buffer){
+        if(buffer == null){
+            throw new NullPointerException("buffer");
+        }
+        this.buffer = buffer;
+        this.length = buffer.getSize() >>> SHIFT;
+    }
+    
+    /**
+     * Gets the buffer that holds the elements.
+     *
+     * @return The buffer
+     * */
+    public LargeByteBuffer getBuffer(){
+        return buffer;
+    }
+    
+    /**
+     * Gets the amount of elements in the array.
+     *
+     * @return The length of the array
+     * */
+    @Unsigned
+    public long length(){
+        return length;
+    }
+    
+    private void checkIndex(@Unsigned long index){
+        if(Long.compareUnsigned(index, length) >= 0){
+            throw new IndexOutOfBoundsException("index " + Long.toUnsignedString(index) + " out of bounds for length " + Long.toUnsignedString(length));
+        }
+    }
+    
+    private void checkRange(@Unsigned long from, @Unsigned long to){
+        if(Long.compareUnsigned(from, to) > 0 || Long.compareUnsigned(to, length) > 0){
+            throw new IndexOutOfBoundsException("range " + Long.toUnsignedString(from) + " to " + Long.toUnsignedString(to) + " out of bounds for length " + Long.toUnsignedString(length));
+        }
+    }
+    
+    /**
+     * Gets an element.
+     *
+     * @param index The index of the element
+     *
+     * @return The element
+     *
+     * @throws java.lang.IndexOutOfBoundsException If the index is
+     *          not inside of the array
+     * */
+    public long get(@Unsigned long index){
+        checkIndex(index);
+        return buffer.getLongRaw(index << SHIFT);
+    }
+    
+    /**
+     * Sets an element.
+     *
+     * @param index The index of the element
+     * @param value The new value
+     *
+     * @throws java.lang.IndexOutOfBoundsException If the index is
+     *          not inside of the array
+     * */
+    public void set(@Unsigned long index, long value){
+        checkIndex(index);
+        buffer.putLongRaw(value, index << SHIFT);
+    }
+    
+    /**
+     * Sets every element to a value.
+     *
+     * @param value The value to set
+     * */
+    public void fill(long value){
+        fill(0, length, value);
+    }
+    
+    /**
+     * Sets a range of elements to a value.
+     *
+     * @param from The index of the first element, inclusive
+     * @param to The index of the last element, exclusive
+     * @param value The value to set
+     *
+     * @throws java.lang.IndexOutOfBoundsException If the range is
+     *          not inside of the array
+     * */
+    public void fill(@Unsigned long from, @Unsigned long to, long value){
+        checkRange(from, to);
+        long count = to - from;
+        if(count == 0){
+            return;
+        }
+        if(value == 0){
+            buffer.fill(from << SHIFT, count << SHIFT, (byte)0);
+            return;
+        }
+        // Set one element and keep doubling it with bulk copies
+        set(from, value);
+        for(long filled = 1; filled < count;){
+            long copied = Math.min(filled, count - filled);
+            buffer.copyTo(from << SHIFT, buffer, (from + filled) << SHIFT, copied << SHIFT);
+            filled += copied;
+        }
+    }
+    
+    /**
+     * Copies a range of elements from one array into another, the arrays
+     * can be the same and the ranges may overlap.
+     *
+     * @param source The array to copy from
+     * @param sourceIndex The index of the first element to copy
+     * @param dest The array to copy to
+     * @param destIndex The index of the first element to copy to
+     * @param count The amount of elements to copy
+     *
+     * @throws java.lang.IndexOutOfBoundsException If either range is
+     *          not inside of its array
+     * */
+    public static void copy(LargeLongArray source, @Unsigned long sourceIndex, LargeLongArray dest, @Unsigned long destIndex, @Unsigned long count){
+        if(source == null){
+            throw new NullPointerException("source");
+        }
+        if(dest == null){
+            throw new NullPointerException("dest");
+        }
+        source.checkRange(sourceIndex, sourceIndex + count);
+        dest.checkRange(destIndex, destIndex + count);
+        source.buffer.copyTo(sourceIndex << SHIFT, dest.buffer, destIndex << SHIFT, count << SHIFT);
+    }
+    
+    /**
+     * Searches the array for a value, the array has to be sorted.
+     *
+     * @param key The value to search for
+     *
+     * @return The index of the value if it was found, otherwise
+     *          (-(insertion point) - 1)
+     * */
+    public long binarySearch(long key){
+        return binarySearch(0, length, key);
+    }
+    
+    /**
+     * Searches a range of the array for a value, the range has to be
+     * sorted. Works like
+     * {@link java.util.Arrays#binarySearch(long[], int, int, long) Arrays.binarySearch}.
+     *
+     * @param from The index of the first element, inclusive
+     * @param to The index of the last element, exclusive
+     * @param key The value to search for
+     *
+     * @return The index of the value if it was found, otherwise
+     *          (-(insertion point) - 1)
+     *
+     * @throws java.lang.IndexOutOfBoundsException If the range is
+     *          not inside of the array
+     * */
+    public long binarySearch(@Unsigned long from, @Unsigned long to, long key){
+        checkRange(from, to);
+        long low = from;
+        long high = to - 1;
+        while(low <= high){
+            long middle = (low + high) >>> 1;
+            long value = buffer.getLongRaw(middle << SHIFT);
+            if(value < key){
+                low = middle + 1;
+            }else if(value > key){
+                high = middle - 1;
+            }else{
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+    
+    /**
+     * Frees the memory of the array right away, see
+     * {@link LargeByteBuffer#close() LargeByteBuffer.close}.
+     * */
+    @Override
+    public void close(){
+        buffer.close();
+    }
+}
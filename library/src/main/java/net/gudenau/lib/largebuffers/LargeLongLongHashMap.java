@@ -0,0 +1,465 @@
+package net.gudenau.lib.largebuffers;
+
+import java.util.concurrent.locks.StampedLock;
+import net.gudenau.lib.annotation.Unsigned;
+
+/**
+ * A hash map from longs to longs that keeps all of its entries in a
+ * {@link LargeByteBuffer LargeByteBuffer}, so it can hold far more than
+ * 2^31 entries without touching the Java heap.
+ *
+ * Entries are stored in a single table of key/value pairs with linear
+ * probing. Removing an entry shifts the entries after it back instead of
+ * leaving a tombstone, so lookups never get slower after many removals.
+ * When the table gets too full it is rehashed into a new buffer twice
+ * the size, unless the map was created with a fixed capacity.
+ *
+ * Any amount of threads can read from the map at the same time, writes
+ * are exclusive and wait for the readers to finish.
+ * */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class LargeLongLongHashMap implements AutoCloseable{
+    /**
+     * Gets called for every entry of the map.
+     * */
+    @FunctionalInterface
+    public interface EntryConsumer{
+        /**
+         * Accepts a single entry.
+         *
+         * @param key The key of the entry
+         * @param value The value of the entry
+         * */
+        void accept(long key, long value);
+    }
+    
+    // A key and a value
+    private static final int SLOT_SHIFT = 4;
+    private static final long MIN_CAPACITY = 16;
+    // Slots of 16 bytes have to stay addressable with a signed long
+    private static final long MAX_CAPACITY = 1L << (63 - SLOT_SHIFT);
+    // Empty slots hold this key, the entry for it is kept outside of the table
+    private static final long EMPTY = 0;
+    
+    private final float loadFactor;
+    private final boolean resizable;
+    private final StampedLock lock = new StampedLock();
+    
+    private LargeByteBuffer table;
+    @Unsigned
+    private long capacity;
+    private long mask;
+    @Unsigned
+    private long threshold;
+    @Unsigned
+    private long size;
+    private boolean hasEmptyKey;
+    private long emptyKeyValue;
+    
+    /**
+     * Creates a map with room for the expected amount of entries before it
+     * needs to grow, and a load factor of 0.75.
+     *
+     * @param expectedSize The amount of entries the map should hold without
+     *                     resizing
+     *
+     * @throws java.lang.IllegalArgumentException If the expected size is too
+     *          large
+     * @throws OutOfMemoryError If the table could not be allocated
+     * */
+    public LargeLongLongHashMap(@Unsigned long expectedSize){
+        this(expectedSize, 0.75F, true);
+    }
+    
+    /**
+     * Creates a new map.
+     *
+     * @param expectedSize The amount of entries the map should hold without
+     *                     resizing
+     * @param loadFactor How full the table can get before it is resized,
+     *                   between 0 and 1
+     * @param resizable True to rehash into a larger table when the load
+     *                  factor is reached, false to throw instead
+     *
+     * @throws java.lang.IllegalArgumentException If the load factor is not
+     *          between 0 and 1 or the expected size is too large
+     * @throws OutOfMemoryError If the table could not be allocated
+     * */
+    public LargeLongLongHashMap(@Unsigned long expectedSize, float loadFactor, boolean resizable){
+        if(!(loadFactor > 0 && loadFactor < 1)){
+            throw new IllegalArgumentException("loadFactor must be between 0 and 1");
+        }
+        this.loadFactor = loadFactor;
+        this.resizable = resizable;
+        setTable(getCapacity(expectedSize, loadFactor));
+    }
+    
+    /**
+     * Gets the smallest table size that holds an amount of entries without
+     * going over the load factor.
+     * */
+    private static long getCapacity(@Unsigned long entries, float loadFactor){
+        double needed = unsignedToDouble(entries) / loadFactor;
+        if(needed > MAX_CAPACITY){
+            throw new IllegalArgumentException("expected size is too large");
+        }
+        long slots = Math.max(MIN_CAPACITY, (long)Math.ceil(needed));
+        return slots > MAX_CAPACITY >>> 1 ? MAX_CAPACITY : Long.highestOneBit(slots - 1) << 1;
+    }
+    
+    private static double unsignedToDouble(@Unsigned long value){
+        double result = value >>> 1;
+        return result * 2 + (value & 1);
+    }
+    
+    /**
+     * Mixes the bits of a key so keys that only differ in their high bits,
+     * or that are multiples of the table size, still spread out.
+     * */
+    private static long hash(long key){
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        return key ^ (key >>> 33);
+    }
+    
+    private void setTable(@Unsigned long capacity){
+        this.table = LargeByteBuffer.allocateDirect(capacity << SLOT_SHIFT);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.threshold = capacity == MAX_CAPACITY ? capacity - 1 : (long)(capacity * (double)loadFactor);
+    }
+    
+    /**
+     * Finds the slot of a key.
+     *
+     * @return The slot of the key or -1 if the key is not in the table
+     * */
+    private long find(long key){
+        long slot = hash(key) & mask;
+        while(true){
+            long current = table.getLongRaw(slot << SLOT_SHIFT);
+            if(current == key){
+                return slot;
+            }
+            if(current == EMPTY){
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    /**
+     * Gets the value of a key.
+     *
+     * @param key The key
+     * @param defaultValue What to return if the key is not in the map
+     *
+     * @return The value of the key or the default value
+     *
+     * @throws java.lang.IllegalStateException If the map was closed
+     * */
+    public long get(long key, long defaultValue){
+        long stamp = lock.readLock();
+        try{
+            checkOpen();
+            if(key == EMPTY){
+                return hasEmptyKey ? emptyKeyValue : defaultValue;
+            }
+            long slot = find(key);
+            return slot == -1 ? defaultValue : table.getLongRaw((slot << SLOT_SHIFT) + 8);
+        }finally{
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * Checks if a key is in the map.
+     *
+     * @param key The key
+     *
+     * @return True if the map has a value for the key
+     *
+     * @throws java.lang.IllegalStateException If the map was closed
+     * */
+    public boolean containsKey(long key){
+        long stamp = lock.readLock();
+        try{
+            checkOpen();
+            return key == EMPTY ? hasEmptyKey : find(key) != -1;
+        }finally{
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * Sets the value of a key.
+     *
+     * @param key The key
+     * @param value The new value
+     *
+     * @return True if the key was not in the map before
+     *
+     * @throws java.lang.IllegalStateException If the map was closed or it is
+     *          full and can not be resized
+     * @throws OutOfMemoryError If the map needed to grow and the new table
+     *          could not be allocated
+     * */
+    public boolean put(long key, long value){
+        long stamp = lock.writeLock();
+        try{
+            checkOpen();
+            if(key == EMPTY){
+                boolean added = !hasEmptyKey;
+                hasEmptyKey = true;
+                emptyKeyValue = value;
+                if(added){
+                    size++;
+                }
+                return added;
+            }
+            
+            long slot = hash(key) & mask;
+            while(true){
+                long offset = slot << SLOT_SHIFT;
+                long current = table.getLongRaw(offset);
+                if(current == key){
+                    table.putLongRaw(value, offset + 8);
+                    return false;
+                }
+                if(current == EMPTY){
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            
+            // Count the entries in the table without the one outside of it
+            if(Long.compareUnsigned(size - (hasEmptyKey ? 1 : 0), threshold) >= 0){
+                if(!resizable || capacity == MAX_CAPACITY){
+                    throw new IllegalStateException("map is full");
+                }
+                resize(capacity << 1);
+                slot = hash(key) & mask;
+                while(table.getLongRaw(slot << SLOT_SHIFT) != EMPTY){
+                    slot = (slot + 1) & mask;
+                }
+            }
+            long offset = slot << SLOT_SHIFT;
+            table.putLongRaw(key, offset);
+            table.putLongRaw(value, offset + 8);
+            size++;
+            return true;
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Removes a key from the map.
+     *
+     * @param key The key
+     *
+     * @return True if the key was in the map
+     *
+     * @throws java.lang.IllegalStateException If the map was closed
+     * */
+    public boolean remove(long key){
+        long stamp = lock.writeLock();
+        try{
+            checkOpen();
+            if(key == EMPTY){
+                boolean removed = hasEmptyKey;
+                hasEmptyKey = false;
+                if(removed){
+                    size--;
+                }
+                return removed;
+            }
+            
+            long slot = find(key);
+            if(slot == -1){
+                return false;
+            }
+            // Shift the following entries back until one is already in its
+            //  best slot or the run of entries ends.
+            long next = slot;
+            while(true){
+                next = (next + 1) & mask;
+                long nextOffset = next << SLOT_SHIFT;
+                long nextKey = table.getLongRaw(nextOffset);
+                if(nextKey == EMPTY){
+                    break;
+                }
+                long ideal = hash(nextKey) & mask;
+                if(((next - ideal) & mask) >= ((next - slot) & mask)){
+                    long offset = slot << SLOT_SHIFT;
+                    table.putLongRaw(nextKey, offset);
+                    table.putLongRaw(table.getLongRaw(nextOffset + 8), offset + 8);
+                    slot = next;
+                }
+            }
+            long offset = slot << SLOT_SHIFT;
+            table.putLongRaw(EMPTY, offset);
+            table.putLongRaw(0, offset + 8);
+            size--;
+            return true;
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Moves every entry into a new table of a different size. The new
+     * table has to be allocated while the old one is still around, so this
+     * briefly needs memory for both.
+     *
+     * @param expectedSize The amount of entries the map should hold without
+     *                     resizing, the map never shrinks below its current
+     *                     size
+     *
+     * @throws java.lang.IllegalArgumentException If the expected size is too
+     *          large
+     * @throws java.lang.IllegalStateException If the map was closed
+     * @throws OutOfMemoryError If the new table could not be allocated
+     * */
+    public void rehash(@Unsigned long expectedSize){
+        long stamp = lock.writeLock();
+        try{
+            checkOpen();
+            long newCapacity = getCapacity(Long.compareUnsigned(expectedSize, size) > 0 ? expectedSize : size, loadFactor);
+            if(newCapacity != capacity){
+                resize(newCapacity);
+            }
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    private void resize(@Unsigned long newCapacity){
+        LargeByteBuffer oldTable = table;
+        long oldCapacity = capacity;
+        setTable(newCapacity);
+        for(long oldSlot = 0; oldSlot < oldCapacity; oldSlot++){
+            long oldOffset = oldSlot << SLOT_SHIFT;
+            long key = oldTable.getLongRaw(oldOffset);
+            if(key == EMPTY){
+                continue;
+            }
+            long slot = hash(key) & mask;
+            while(table.getLongRaw(slot << SLOT_SHIFT) != EMPTY){
+                slot = (slot + 1) & mask;
+            }
+            long offset = slot << SLOT_SHIFT;
+            table.putLongRaw(key, offset);
+            table.putLongRaw(oldTable.getLongRaw(oldOffset + 8), offset + 8);
+        }
+        oldTable.close();
+    }
+    
+    /**
+     * Removes every entry, the table keeps its size.
+     *
+     * @throws java.lang.IllegalStateException If the map was closed
+     * */
+    public void clear(){
+        long stamp = lock.writeLock();
+        try{
+            checkOpen();
+            table.fill(0, table.getSize(), (byte)0);
+            hasEmptyKey = false;
+            size = 0;
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Calls a consumer for every entry in the map, in no particular order.
+     * The map can not be written to until this returns.
+     *
+     * @param consumer The consumer
+     *
+     * @throws java.lang.IllegalStateException If the map was closed
+     * */
+    public void forEach(EntryConsumer consumer){
+        if(consumer == null){
+            throw new NullPointerException("consumer");
+        }
+        long stamp = lock.readLock();
+        try{
+            checkOpen();
+            if(hasEmptyKey){
+                consumer.accept(EMPTY, emptyKeyValue);
+            }
+            for(long slot = 0; slot < capacity; slot++){
+                long offset = slot << SLOT_SHIFT;
+                long key = table.getLongRaw(offset);
+                if(key != EMPTY){
+                    consumer.accept(key, table.getLongRaw(offset + 8));
+                }
+            }
+        }finally{
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * Gets the amount of entries in the map.
+     *
+     * @return The size of the map
+     * */
+    @Unsigned
+    public long size(){
+        long stamp = lock.readLock();
+        try{
+            return size;
+        }finally{
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * Checks if the map has no entries.
+     *
+     * @return True if the map is empty
+     * */
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+    
+    /**
+     * Gets the amount of slots in the table.
+     *
+     * @return The capacity of the table
+     * */
+    @Unsigned
+    public long capacity(){
+        long stamp = lock.readLock();
+        try{
+            return capacity;
+        }finally{
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    private void checkOpen(){
+        if(table.isFreed()){
+            throw new IllegalStateException("map was closed");
+        }
+    }
+    
+    /**
+     * Frees the table right away, the map can not be used afterwards.
+     * Calling this more than once does nothing.
+     * */
+    @Override
+    public void close(){
+        long stamp = lock.writeLock();
+        try{
+            table.close();
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package net.gudenau.lib.largebuffers;
+
+/**
+ * Hints about how the memory of a {@link LargeByteBuffer LargeByteBuffer}
+ * is going to be used, see {@link LargeByteBuffer#advise(long, long, MemoryAdvice)}
+ * and {@link LargeByteBuffer#allocateDirect(long, MemoryAdvice...)}.
+ *
+ * These map to the advice values of madvise on Linux, platforms without
+ * an equivalent ignore them.
+ * */
+public enum MemoryAdvice{
+    /**
+     * No special treatment, undoes {@link #SEQUENTIAL} and {@link #RANDOM}.
+     * */
+    NORMAL,
+    /**
+     * The memory will be read in order, read ahead aggressively and drop
+     * pages soon after they have been read.
+     * */
+    SEQUENTIAL,
+    /**
+     * The memory will be read in a random order, read ahead is not
+     * useful.
+     * */
+    RANDOM,
+    /**
+     * The memory will be used soon, start reading it in now.
+     * */
+    WILLNEED,
+    /**
+     * The memory will not be used for a while, the pages can be
+     * released. The contents of the region are undefined afterwards,
+     * anonymous memory reads as zeros and mapped files are read from
+     * the file again.
+     * */
+    DONTNEED,
+    /**
+     * Back the memory with transparent huge pages, which cuts TLB misses
+     * for large buffers that are accessed randomly. Only takes effect
+     * when the kernel has transparent huge pages enabled in madvise or
+     * always mode.
+     * */
+    HUGEPAGE
+}
@@ -0,0 +1,110 @@
+package net.gudenau.lib.largebuffers;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import net.gudenau.lib.annotation.Unsigned;
+
+/**
+ * Controls how large memory operations, like
+ * {@link LargeByteBuffer#fill(long, long, byte) fill} and
+ * {@link LargeByteBuffer#copyTo(long, LargeByteBuffer, long, long) copyTo},
+ * are split across threads. A single core can not use all of the memory
+ * bandwidth of most machines, so operations larger than the threshold
+ * are split into one piece per thread of the pool.
+ *
+ * Both settings are global and can be changed at any time, operations
+ * that are already running keep the settings they started with.
+ * */
+public final class Parallelism{
+    private static volatile ForkJoinPool pool = ForkJoinPool.commonPool();
+    // 64MiB, smaller operations finish before the threads would start
+    @Unsigned
+    private static volatile long threshold = 64 * 1024 * 1024;
+    
+    private Parallelism(){}
+    
+    /**
+     * Gets the pool that large operations are run on.
+     *
+     * @return The pool
+     * */
+    public static ForkJoinPool getPool(){
+        return pool;
+    }
+    
+    /**
+     * Sets the pool that large operations are run on, the common pool is
+     * used by default.
+     *
+     * @param pool The pool to use
+     * */
+    public static void setPool(ForkJoinPool pool){
+        if(pool == null){
+            throw new NullPointerException("pool");
+        }
+        Parallelism.pool = pool;
+    }
+    
+    /**
+     * Gets the size above which operations are split across threads.
+     *
+     * @return The threshold in bytes
+     * */
+    @Unsigned
+    public static long getThreshold(){
+        return threshold;
+    }
+    
+    /**
+     * Sets the size above which operations are split across threads,
+     * 64MiB by default. Setting it to -1 keeps every operation on the
+     * calling thread.
+     *
+     * @param threshold The threshold in bytes
+     * */
+    public static void setThreshold(@Unsigned long threshold){
+        Parallelism.threshold = threshold;
+    }
+    
+    /**
+     * Runs an action for every index on the pool and returns once all of
+     * them have finished. A single index runs on the calling thread.
+     *
+     * @param count The amount of indices
+     * @param action The action, gets passed the index
+     * */
+    static void forEach(int count, IntConsumer action){
+        if(count == 1){
+            action.accept(0);
+        }else if(count > 1){
+            pool.invoke(new IndexTask(action, 0, count));
+        }
+    }
+    
+    @SuppressWarnings("serial")
+    private static final class IndexTask extends RecursiveAction{
+        private final IntConsumer action;
+        private final int start;
+        private final int end;
+        
+        IndexTask(IntConsumer action, int start, int end){
+            this.action = action;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected void compute(){
+            if(end - start == 1){
+                action.accept(start);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(
+                new IndexTask(action, start, middle),
+                new IndexTask(action, middle, end)
+            );
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package net.gudenau.lib.largebuffers;
+
+import java.util.Arrays;
+import net.gudenau.lib.annotation.Unsigned;
+
+/**
+ * A stable least significant digit radix sort over ints or longs in
+ * {@link LargeByteBuffer LargeByteBuffer}s, optionally carrying a value
+ * of the same size along with every key.
+ *
+ * Each pass sorts by one byte of the keys. The elements are split into
+ * one block per thread, every block counts its digits and then scatters
+ * its elements into the scratch buffer at offsets computed from all of
+ * the counts, so the threads never write to the same place. Passes where
+ * every key has the same digit are skipped.
+ * */
+final class RadixSort{
+    private static final int DIGIT_BITS = 8;
+    private static final int DIGITS = 1 << DIGIT_BITS;
+    
+    private final int elementSize;
+    private final boolean hasValues;
+    private final boolean swap;
+    @Unsigned
+    private final long count;
+    private final int blocks;
+    
+    private RadixSort(int elementSize, boolean hasValues, boolean swap, @Unsigned long count){
+        this.elementSize = elementSize;
+        this.hasValues = hasValues;
+        this.swap = swap;
+        this.count = count;
+        
+        long bytes = count * elementSize * (hasValues ? 2 : 1);
+        int parallelism = Parallelism.getPool().getParallelism();
+        this.blocks = Long.compareUnsigned(bytes, Parallelism.getThreshold()) > 0 ? parallelism : 1;
+    }
+    
+    /**
+     * Sorts keys, and the values that go with them, in place.
+     *
+     * @param elementSize 4 for ints or 8 for longs
+     * @param keys The buffer of the keys, its byte order is used to read
+     *             them
+     * @param keyOffset The offset of the first key
+     * @param values The buffer of the values or null to only sort the keys
+     * @param valueOffset The offset of the first value
+     * @param count The amount of keys
+     * */
+    static void sort(int elementSize, LargeByteBuffer keys, @Unsigned long keyOffset, LargeByteBuffer values, @Unsigned long valueOffset, @Unsigned long count){
+        if(count < 2){
+            return;
+        }
+        new RadixSort(elementSize, values != null, !keys.isByteOrderNative(), count)
+            .sort(keys, keyOffset, values, valueOffset);
+    }
+    
+    private void sort(LargeByteBuffer keys, @Unsigned long keyOffset, LargeByteBuffer values, @Unsigned long valueOffset){
+        long keyBytes = count * elementSize;
+        LargeByteBuffer scratch = LargeByteBuffer.allocateUninitialized(hasValues ? keyBytes * 2 : keyBytes);
+        try{
+            LargeByteBuffer sourceKeys = keys;
+            long sourceKeyOffset = keyOffset;
+            LargeByteBuffer sourceValues = values;
+            long sourceValueOffset = valueOffset;
+            LargeByteBuffer destKeys = scratch;
+            long destKeyOffset = 0;
+            LargeByteBuffer destValues = scratch;
+            long destValueOffset = keyBytes;
+            
+            long[][] offsets = new long[blocks][DIGITS];
+            for(int shift = 0; shift < elementSize * 8; shift += DIGIT_BITS){
+                count(sourceKeys, sourceKeyOffset, shift, offsets);
+                if(!prefixSum(offsets)){
+                    continue;
+                }
+                scatter(sourceKeys, sourceKeyOffset, sourceValues, sourceValueOffset, destKeys, destKeyOffset, destValues, destValueOffset, shift, offsets);
+                
+                LargeByteBuffer tempBuffer = sourceKeys;
+                long tempOffset = sourceKeyOffset;
+                sourceKeys = destKeys;
+                sourceKeyOffset = destKeyOffset;
+                destKeys = tempBuffer;
+                destKeyOffset = tempOffset;
+                
+                tempBuffer = sourceValues;
+                tempOffset = sourceValueOffset;
+                sourceValues = destValues;
+                sourceValueOffset = destValueOffset;
+                destValues = tempBuffer;
+                destValueOffset = tempOffset;
+            }
+            
+            // An odd amount of passes ran, the result is in the scratch buffer
+            if(sourceKeys == scratch){
+                scratch.copyTo(0, keys, keyOffset, keyBytes);
+                if(hasValues){
+                    scratch.copyTo(keyBytes, values, valueOffset, keyBytes);
+                }
+            }
+        }finally{
+            scratch.close();
+        }
+    }
+    
+    /**
+     * Gets the start of a block, blocks are as close to the same size as
+     * possible.
+     * */
+    private long blockStart(int block){
+        if(block == blocks){
+            return count;
+        }
+        // count * block / blocks without overflowing
+        return (count / blocks) * block + (count % blocks) * block / blocks;
+    }
+    
+    private long getKey(LargeByteBuffer buffer, @Unsigned long offset){
+        if(elementSize == Long.BYTES){
+            long key = buffer.getLongRaw(offset);
+            return swap ? Long.reverseBytes(key) : key;
+        }
+        int key = buffer.getIntRaw(offset);
+        return swap ? Integer.reverseBytes(key) : key;
+    }
+    
+    private int getDigit(long key, int shift){
+        // Flip the sign so negative keys sort first
+        if(shift + DIGIT_BITS == elementSize * 8){
+            key ^= 1L << (shift + DIGIT_BITS - 1);
+        }
+        return (int)(key >>> shift) & (DIGITS - 1);
+    }
+    
+    /**
+     * Moves an element without looking at its bytes, so the byte order
+     * never matters.
+     * */
+    private void move(LargeByteBuffer source, @Unsigned long sourceOffset, LargeByteBuffer dest, @Unsigned long destOffset){
+        if(elementSize == Long.BYTES){
+            dest.putLongRaw(source.getLongRaw(sourceOffset), destOffset);
+        }else{
+            dest.putIntRaw(source.getIntRaw(sourceOffset), destOffset);
+        }
+    }
+    
+    private void count(LargeByteBuffer keys, @Unsigned long keyOffset, int shift, long[][] counts){
+        Parallelism.forEach(blocks, (block)->{
+            long[] blockCounts = counts[block];
+            Arrays.fill(blockCounts, 0);
+            long end = blockStart(block + 1);
+            for(long index = blockStart(block); index < end; index++){
+                blockCounts[getDigit(getKey(keys, keyOffset + index * elementSize), shift)]++;
+            }
+        });
+    }
+    
+    /**
+     * Turns the counts of every block into the index the block writes its
+     * first element of each digit to.
+     *
+     * @return False if every key has the same digit and the pass can be
+     *          skipped
+     * */
+    private boolean prefixSum(long[][] counts){
+        long total = 0;
+        for(int digit = 0; digit < DIGITS; digit++){
+            long digitTotal = 0;
+            for(int block = 0; block < blocks; block++){
+                long blockCount = counts[block][digit];
+                counts[block][digit] = total + digitTotal;
+                digitTotal += blockCount;
+            }
+            if(digitTotal == count){
+                return false;
+            }
+            total += digitTotal;
+        }
+        return true;
+    }
+    
+    private void scatter(
+        LargeByteBuffer sourceKeys, @Unsigned long sourceKeyOffset,
+        LargeByteBuffer sourceValues, @Unsigned long sourceValueOffset,
+        LargeByteBuffer destKeys, @Unsigned long destKeyOffset,
+        LargeByteBuffer destValues, @Unsigned long destValueOffset,
+        int shift, long[][] offsets
+    ){
+        Parallelism.forEach(blocks, (block)->{
+            long[] blockOffsets = offsets[block];
+            long end = blockStart(block + 1);
+            for(long index = blockStart(block); index < end; index++){
+                long source = index * elementSize;
+                long key = getKey(sourceKeys, sourceKeyOffset + source);
+                long dest = blockOffsets[getDigit(key, shift)]++ * elementSize;
+                move(sourceKeys, sourceKeyOffset + source, destKeys, destKeyOffset + dest);
+                if(hasValues){
+                    move(sourceValues, sourceValueOffset + source, destValues, destValueOffset + dest);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,272 @@
+package net.gudenau.lib.largebuffers.implementation;
+
+import java.nio.ByteOrder;
+import net.gudenau.lib.annotation.NonNull;
+import net.gudenau.lib.annotation.Pointer;
+import net.gudenau.lib.annotation.Unsigned;
+import net.gudenau.lib.largebuffers.LargeByteBuffer;
+
+import static net.gudenau.lib.largebuffers.implementation.UnsafeAccess.UNSAFE;
+
+/**
+ * Raw native memory for code that manages memory itself, like pools and
+ * arenas, and wraps it in buffers afterwards.
+ *
+ * Memory comes from the native library when it is available and from
+ * Unsafe otherwise. This is decided once, so memory from
+ * {@link #allocate(long, boolean)} can always be passed to
+ * {@link #free(long)}.
+ * */
+public final class Allocator{
+    /**
+     * Large fills and copies are split into chunks of this size so the
+     * thread can reach a safepoint between them.
+     * */
+    private static final long FILL_THRESHOLD = 1024 * 1024;
+    
+    private Allocator(){}
+    
+    /**
+     * Allocates native memory.
+     *
+     * @param size The size of the memory
+     * @param zero True to fill the memory with zeros, false to leave
+     *             whatever the allocator returned
+     *
+     * @return The native pointer to the allocated memory
+     *
+     * @throws java.lang.IllegalArgumentException If the size
+     *          is too large for the native pointer
+     * @throws java.lang.OutOfMemoryError If the memory could
+     *          not be allocated
+     * @throws java.lang.UnsupportedOperationException If neither the
+     *          native library nor Unsafe are available
+     * */
+    @Pointer
+    public static long allocate(@Unsigned long size, boolean zero){
+        if(Library.isAvailable()){
+            return zero ? NativeMethods.allocateZeroedMemory(size) : NativeMethods.allocateMemory(size);
+        }
+        if(!UnsafeAccess.isAvailable()){
+            throw new UnsupportedOperationException("Unsafe and the native library are not available");
+        }
+        if(size < 0){
+            throw new IllegalArgumentException("size does not fit inside native size");
+        }
+        long pointer = UNSAFE.allocateMemory(size);
+        if(zero){
+            fill(pointer, size, (byte)0x00);
+        }
+        return pointer;
+    }
+    
+    /**
+     * Frees memory that was allocated with {@link #allocate(long, boolean)}.
+     *
+     * @param pointer The pointer to the memory
+     *
+     * @throws java.lang.NullPointerException If the pointer was
+     *          null
+     * */
+    public static void free(@NonNull @Pointer long pointer){
+        if(pointer == NativeMethods.NULL){
+            throw new NullPointerException("pointer");
+        }
+        if(Library.isAvailable()){
+            NativeMethods.freeMemory(pointer);
+        }else{
+            UNSAFE.freeMemory(pointer);
+        }
+    }
+    
+    /**
+     * Sets an area of memory to a value, large areas are split across
+     * the threads of the {@link net.gudenau.lib.largebuffers.Parallelism Parallelism}
+     * pool.
+     *
+     * @param pointer The pointer to the memory
+     * @param size The size of the area
+     * @param value The value to set
+     * */
+    public static void fill(@Pointer long pointer, @Unsigned long size, byte value){
+        ParallelMemory.run(pointer, size, (offset, length)->fillSerial(pointer + offset, length, value));
+    }
+    
+    private static void fillSerial(@Pointer long pointer, @Unsigned long size, byte value){
+        if(UnsafeAccess.isAvailable()){
+            for(long offset = 0; offset < size; offset += FILL_THRESHOLD){
+                UNSAFE.setMemory(pointer + offset, Math.min(FILL_THRESHOLD, size - offset), value);
+            }
+        }else{
+            NativeMethods.memset(pointer, value, size);
+        }
+    }
+    
+    /**
+     * Copies an area of memory, the areas may overlap. Large copies of
+     * areas that do not overlap are split across the threads of the
+     * {@link net.gudenau.lib.largebuffers.Parallelism Parallelism} pool.
+     *
+     * @param source The pointer to copy from
+     * @param dest The pointer to copy to
+     * @param size The size of the area
+     * */
+    public static void copy(@Pointer long source, @Pointer long dest, @Unsigned long size){
+        if(Long.compareUnsigned(source, dest + size) < 0 && Long.compareUnsigned(dest, source + size) < 0){
+            copySerial(source, dest, size);
+        }else{
+            ParallelMemory.run(dest, size, (offset, length)->copySerial(source + offset, dest + offset, length));
+        }
+    }
+    
+    private static void copySerial(@Pointer long source, @Pointer long dest, @Unsigned long size){
+        if(!UnsafeAccess.isAvailable()){
+            NativeMethods.memcpy(source, dest, size);
+        }else if(Long.compareUnsigned(dest, source) <= 0 || Long.compareUnsigned(dest, source + size) >= 0){
+            for(long offset = 0; offset < size; offset += FILL_THRESHOLD){
+                UNSAFE.copyMemory(source + offset, dest + offset, Math.min(FILL_THRESHOLD, size - offset));
+            }
+        }else{
+            // The end of the source overlaps the start of the destination,
+            //  copy backwards so it is read before it is overwritten.
+            for(long end = size; end > 0; end -= FILL_THRESHOLD){
+                long length = Math.min(FILL_THRESHOLD, end);
+                UNSAFE.copyMemory(source + end - length, dest + end - length, length);
+            }
+        }
+    }
+    
+    /**
+     * Finds the first byte that differs between two areas of memory.
+     *
+     * @param pointer The pointer to the first area
+     * @param otherPointer The pointer to the second area
+     * @param size The size of the areas
+     *
+     * @return The index of the first byte that differs or -1 if the areas
+     *          are equal
+     * */
+    public static long mismatch(@Pointer long pointer, @Pointer long otherPointer, @Unsigned long size){
+        if(Library.isAvailable()){
+            return NativeMethods.mismatch(pointer, otherPointer, size);
+        }
+        // Compare a word at a time, the lowest differing bit in memory
+        //  order is the first differing byte.
+        boolean littleEndian = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+        long offset = 0;
+        for(; Long.compareUnsigned(size - offset, Long.BYTES) >= 0; offset += Long.BYTES){
+            long difference = UNSAFE.getLong(pointer + offset) ^ UNSAFE.getLong(otherPointer + offset);
+            if(difference != 0){
+                int bit = littleEndian ? Long.numberOfTrailingZeros(difference) : Long.numberOfLeadingZeros(difference);
+                return offset + (bit >>> 3);
+            }
+        }
+        for(; offset != size; offset++){
+            if(UNSAFE.getByte(pointer + offset) != UNSAFE.getByte(otherPointer + offset)){
+                return offset;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Calculates the same hash code as {@link java.util.Arrays#hashCode(byte[]) Arrays.hashCode}
+     * for an area of memory.
+     *
+     * @param pointer The pointer to the memory
+     * @param size The size of the area
+     *
+     * @return The hash code
+     * */
+    public static int hashCode(@Pointer long pointer, @Unsigned long size){
+        if(Library.isAvailable()){
+            return NativeMethods.hashCode(pointer, size);
+        }
+        // Eight bytes per step keeps the multiplications independent
+        int hash = 1;
+        long offset = 0;
+        for(; Long.compareUnsigned(size - offset, 8) >= 0; offset += 8){
+            long address = pointer + offset;
+            hash = hash * 0x94446F01 +
+                UNSAFE.getByte(address) * 0x67E12CDF +
+                UNSAFE.getByte(address + 1) * 0x34E63B41 +
+                UNSAFE.getByte(address + 2) * 0x01B4D89F +
+                UNSAFE.getByte(address + 3) * 0x000E1781 +
+                UNSAFE.getByte(address + 4) * 0x0000745F +
+                UNSAFE.getByte(address + 5) * 0x000003C1 +
+                UNSAFE.getByte(address + 6) * 31 +
+                UNSAFE.getByte(address + 7);
+        }
+        for(; offset != size; offset++){
+            hash = 31 * hash + UNSAFE.getByte(pointer + offset);
+        }
+        return hash;
+    }
+    
+    /**
+     * Creates a buffer that owns memory which was allocated elsewhere,
+     * using the fastest implementation that is available.
+     *
+     * @param size The size of the buffer
+     * @param pointer The pointer to the memory
+     * @param free Releases the memory once the buffer is closed or
+     *             collected, this must not reference the buffer
+     *
+     * @return The new buffer
+     * */
+    public static LargeByteBuffer wrap(@Unsigned long size, @NonNull @Pointer long pointer, @NonNull Runnable free){
+        return wrap(size, pointer, free, free);
+    }
+    
+    /**
+     * Creates a buffer that owns memory which was allocated elsewhere,
+     * using the fastest implementation that is available. The memory is
+     * released differently depending on how the buffer went away, the
+     * free action runs on the cleaner thread.
+     *
+     * @param size The size of the buffer
+     * @param pointer The pointer to the memory
+     * @param free Releases the memory once the buffer is collected, this
+     *             must not reference the buffer
+     * @param close Releases the memory once the buffer is closed, this
+     *              must not reference the buffer
+     *
+     * @return The new buffer
+     * */
+    public static LargeByteBuffer wrap(@Unsigned long size, @NonNull @Pointer long pointer, @NonNull Runnable free, @NonNull Runnable close){
+        if(pointer == NativeMethods.NULL){
+            throw new NullPointerException("pointer");
+        }
+        if(free == null){
+            throw new NullPointerException("free");
+        }
+        if(close == null){
+            throw new NullPointerException("close");
+        }
+        Deallocator deallocator = new Deallocator(free, close);
+        if(UnsafeLargeByteBuffer.isSupported()){
+            return new UnsafeLargeByteBuffer(size, pointer, deallocator, false, false);
+        }
+        return new DirectLargeByteBuffer(size, pointer, deallocator, false, false);
+    }
+    
+    /**
+     * Creates a slice of a buffer from {@link #wrap(long, long, Runnable)}
+     * that is not registered with the buffer, so this takes no lock and
+     * keeps no reference to the slice. Freeing the buffer does not
+     * invalidate the slice, the caller has to do that before the memory
+     * is freed.
+     *
+     * @param buffer The buffer to slice
+     * @param start The start of the slice
+     * @param length The length of the slice
+     *
+     * @return The slice
+     *
+     * @throws java.nio.BufferUnderflowException If the slice is not
+     *          inside of the buffer
+     * */
+    public static LargeByteBuffer sliceUntracked(@NonNull LargeByteBuffer buffer, @Unsigned long start, @Unsigned long length){
+        return ((DirectLargeByteBuffer)buffer).slice(start, length, false);
+    }
+}
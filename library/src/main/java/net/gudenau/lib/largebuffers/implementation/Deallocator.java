@@ -0,0 +1,65 @@
+package net.gudenau.lib.largebuffers.implementation;
+
+/**
+ * Frees the memory of a buffer at most once, so memory that is freed
+ * explicitly is not freed again when the buffer is collected. The free
+ * action is dropped once it has run.
+ *
+ * A buffer that is closed can use a different action than one that is
+ * collected, the cleaner runs on its own thread where thread local
+ * state of the owner of the buffer is not available.
+ *
+ * This must never reference the buffer that owns the memory, the
+ * buffer would never become unreachable.
+ * */
+final class Deallocator implements Runnable{
+    private Runnable free;
+    private Runnable close;
+    
+    Deallocator(Runnable free){
+        this(free, free);
+    }
+    
+    /**
+     * Creates a deallocator with different actions for closed and
+     * collected buffers.
+     *
+     * @param free Frees the memory when the buffer is collected
+     * @param close Frees the memory when the buffer is closed
+     * */
+    Deallocator(Runnable free, Runnable close){
+        this.free = free;
+        this.close = close;
+    }
+    
+    /**
+     * Frees the memory of a buffer that was collected.
+     * */
+    @Override
+    public void run(){
+        Runnable free;
+        synchronized(this){
+            free = this.free;
+            this.free = null;
+            this.close = null;
+        }
+        if(free != null){
+            free.run();
+        }
+    }
+    
+    /**
+     * Frees the memory of a buffer that was closed.
+     * */
+    void close(){
+        Runnable close;
+        synchronized(this){
+            close = this.close;
+            this.free = null;
+            this.close = null;
+        }
+        if(close != null){
+            close.run();
+        }
+    }
+}
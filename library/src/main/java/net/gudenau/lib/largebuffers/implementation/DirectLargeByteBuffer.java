@@ -0,0 +1,1065 @@
+package net.gudenau.lib.largebuffers.implementation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import net.gudenau.lib.cleanup.Cleaner;
+import net.gudenau.lib.largebuffers.ByteBufferGlueLogic;
+import net.gudenau.lib.largebuffers.LargeByteBuffer;
+import net.gudenau.lib.largebuffers.MemoryAdvice;
+
+/**
+ * The default implementation of the {@link net.gudenau.lib.largebuffers.LargeByteBuffer}
+ * abstract class.
+ * */
+public class DirectLargeByteBuffer extends ByteBufferGlueLogic<DirectLargeByteBuffer>{
+    final long pointer;
+    // The buffer that owns the memory, this for buffers that own their
+    //  memory. Views keep their owner reachable through this.
+    private final DirectLargeByteBuffer owner;
+    // Null for views, they never free the memory
+    private final Deallocator deallocator;
+    private final boolean mapped;
+    // Only used by owners, every view that has been created from this
+    //  buffer so they can be invalidated when the memory is freed.
+    private List<WeakReference<DirectLargeByteBuffer>> views;
+    private int viewPruneThreshold = 16;
+    // Only used by growable buffers, the largest size and how much of the
+    //  reserved address space is usable. Zero means the buffer can not grow.
+    private long maxSize = 0;
+    private long reserved = 0;
+    private long committed = 0;
+    
+    public DirectLargeByteBuffer(long size){
+        this(size, true);
+    }
+    
+    /**
+     * Allocates a new buffer.
+     *
+     * @param size The size of the buffer
+     * @param zero True to fill the memory with zeros, false to leave
+     *             whatever the allocator returned
+     * */
+    public DirectLargeByteBuffer(long size, boolean zero){
+        this(size, zero ? NativeMethods.allocateZeroedMemory(size) : NativeMethods.allocateMemory(size));
+    }
+    
+    private DirectLargeByteBuffer(long size, long pointer){
+        this(size, pointer, ()->NativeMethods.freeMemory(pointer));
+    }
+    
+    /**
+     * Creates a buffer around memory that has already been allocated.
+     *
+     * @param size The size of the memory
+     * @param pointer The pointer to the memory
+     * @param free Frees the memory once the buffer is collected
+     * */
+    DirectLargeByteBuffer(long size, long pointer, Runnable free){
+        this(size, pointer, free, false, false);
+    }
+    
+    /**
+     * Creates a buffer around memory that has already been allocated.
+     *
+     * @param size The size of the memory
+     * @param pointer The pointer to the memory
+     * @param free Frees the memory once the buffer is collected or
+     *             unmapped
+     * @param mapped True if the memory maps a file
+     * @param readOnly True if the memory can not be written to
+     * */
+    DirectLargeByteBuffer(long size, long pointer, Runnable free, boolean mapped, boolean readOnly){
+        this(size, pointer, new Deallocator(free), mapped, readOnly);
+    }
+    
+    /**
+     * Creates a buffer around memory that has already been allocated.
+     *
+     * @param size The size of the memory
+     * @param pointer The pointer to the memory
+     * @param deallocator Frees the memory once the buffer is collected,
+     *                    closed or unmapped
+     * @param mapped True if the memory maps a file
+     * @param readOnly True if the memory can not be written to
+     * */
+    DirectLargeByteBuffer(long size, long pointer, Deallocator deallocator, boolean mapped, boolean readOnly){
+        super(size, readOnly);
+        this.pointer = pointer;
+        this.owner = this;
+        this.mapped = mapped;
+        this.deallocator = deallocator;
+        
+        Cleaner.addCleaner(this, deallocator);
+    }
+    
+    /**
+     * Creates a view that shares the memory of another buffer. Tracked
+     * views are registered with the owner so freeing it invalidates them,
+     * untracked views have to be invalidated by whoever created them.
+     *
+     * @param size The size of the view
+     * @param pointer The pointer to the start of the view
+     * @param parent The buffer the view was created from
+     * @param tracked True to register the view with the owner
+     * */
+    DirectLargeByteBuffer(long size, long pointer, DirectLargeByteBuffer parent, boolean tracked){
+        super(size, parent.isReadOnly());
+        this.pointer = pointer;
+        this.owner = parent.owner;
+        this.mapped = parent.mapped;
+        this.deallocator = null;
+        
+        if(tracked){
+            owner.addView(this);
+        }
+    }
+    
+    /**
+     * Maps a region of a file into memory.
+     *
+     * @param path The file to map
+     * @param mode The mode to map the file with
+     * @param offset The offset into the file
+     * @param length The length of the region
+     *
+     * @return The mapped buffer
+     *
+     * @throws java.io.IOException If the file could not be mapped
+     * @throws java.lang.IllegalArgumentException If the length was 0
+     * @throws java.lang.UnsupportedOperationException If the platform
+     *          does not support memory mapping
+     * */
+    public static DirectLargeByteBuffer map(Path path, FileChannel.MapMode mode, long offset, long length) throws IOException{
+        if(path == null){
+            throw new NullPointerException("path");
+        }
+        if(mode == null){
+            throw new NullPointerException("mode");
+        }
+        if(path.getFileSystem() != FileSystems.getDefault()){
+            throw new UnsupportedOperationException("only files on the default file system can be mapped");
+        }
+        if(length == 0){
+            throw new IllegalArgumentException("length was 0");
+        }
+        if(!Library.isMappingAvailable()){
+            throw new UnsupportedOperationException("mapping files is not supported on this platform");
+        }
+        
+        int nativeMode;
+        if(mode == FileChannel.MapMode.READ_ONLY){
+            nativeMode = NativeMethods.MAP_READ_ONLY;
+        }else if(mode == FileChannel.MapMode.READ_WRITE){
+            nativeMode = NativeMethods.MAP_READ_WRITE;
+        }else if(mode == FileChannel.MapMode.PRIVATE){
+            nativeMode = NativeMethods.MAP_PRIVATE;
+        }else{
+            throw new IllegalArgumentException("unknown map mode " + mode);
+        }
+        
+        // mmap needs a page aligned offset, map from the start of the page
+        //  and hide the padding.
+        long padding = Long.remainderUnsigned(offset, NativeMethods.getPageSize());
+        long mapLength = length + padding;
+        long base = NativeMethods.mapFile(
+            path.toAbsolutePath().toString(),
+            nativeMode,
+            offset - padding,
+            mapLength
+        );
+        long pointer = base + padding;
+        Runnable free = ()->NativeMethods.unmapMemory(base, mapLength);
+        boolean readOnly = mode == FileChannel.MapMode.READ_ONLY;
+        
+        if(UnsafeLargeByteBuffer.isSupported()){
+            return new UnsafeLargeByteBuffer(length, pointer, free, true, readOnly);
+        }
+        return new DirectLargeByteBuffer(length, pointer, free, true, readOnly);
+    }
+    
+    /**
+     * Allocates a new zeroed buffer and applies advice to all of it. The
+     * memory is mapped on its own so the advice does not leak into other
+     * allocations, with {@link MemoryAdvice#HUGEPAGE} it is aligned to
+     * and padded out to the huge page size so every page can be a huge
+     * one.
+     *
+     * Falls back to a normal allocation without any advice if the native
+     * library is not available or can not map memory.
+     *
+     * @param size The size of the buffer
+     * @param advice The advice to apply
+     *
+     * @return The allocated buffer
+     * */
+    public static DirectLargeByteBuffer allocateAdvised(long size, MemoryAdvice... advice){
+        for(MemoryAdvice value : advice){
+            if(value == null){
+                throw new NullPointerException("advice");
+            }
+        }
+        if(!Library.isMappingAvailable()){
+            return new UnsafeLargeByteBuffer(size);
+        }
+        if(size < 0){
+            throw new IllegalArgumentException("size does not fit inside native size");
+        }
+        
+        long alignment = NativeMethods.getPageSize();
+        for(MemoryAdvice value : advice){
+            if(value == MemoryAdvice.HUGEPAGE){
+                alignment = NativeMethods.getHugePageSize();
+                break;
+            }
+        }
+        long mapLength = (size + alignment - 1) & -alignment;
+        if(mapLength < size){
+            throw new IllegalArgumentException("size does not fit inside native size");
+        }
+        long pointer = NativeMethods.mapAnonymous(mapLength, alignment);
+        Runnable free = ()->NativeMethods.unmapMemory(pointer, mapLength);
+        
+        DirectLargeByteBuffer buffer;
+        if(UnsafeLargeByteBuffer.isSupported()){
+            buffer = new UnsafeLargeByteBuffer(size, pointer, free, false, false);
+        }else{
+            buffer = new DirectLargeByteBuffer(size, pointer, free, false, false);
+        }
+        for(MemoryAdvice value : advice){
+            // Cover the padding as well, huge pages only get used for fully
+            //  advised ranges.
+            NativeMethods.adviseMemory(pointer, mapLength, toNative(value));
+        }
+        return buffer;
+    }
+    
+    /**
+     * Allocates a buffer that can grow in place up to a maximum size. The
+     * address space for the maximum size is reserved and grown into, so
+     * the pointer never changes and views stay valid.
+     *
+     * @param size The starting size of the buffer
+     * @param maxSize The largest size the buffer can grow to
+     *
+     * @return The allocated buffer
+     *
+     * @throws java.lang.IllegalArgumentException If the size is larger
+     *          than the maximum size
+     * @throws java.lang.UnsupportedOperationException If the native
+     *          library is not available or can not map memory
+     * */
+    public static DirectLargeByteBuffer allocateGrowable(long size, long maxSize){
+        if(Long.compareUnsigned(size, maxSize) > 0){
+            throw new IllegalArgumentException("size is larger than maxSize");
+        }
+        if(!Library.isMappingAvailable()){
+            throw new UnsupportedOperationException("growable buffers need the native library and memory mapping");
+        }
+        long pageSize = NativeMethods.getPageSize();
+        long reserved = (maxSize + pageSize - 1) & -pageSize;
+        if(Long.compareUnsigned(reserved, maxSize) < 0 || reserved < 0){
+            throw new IllegalArgumentException("maxSize does not fit inside native size");
+        }
+        // Never 0, the pointer has to be valid even for empty buffers
+        reserved = Math.max(reserved, pageSize);
+        long pointer = NativeMethods.reserveMemory(reserved);
+        long reservedSize = reserved;
+        Runnable free = ()->NativeMethods.unmapMemory(pointer, reservedSize);
+        
+        DirectLargeByteBuffer buffer;
+        try{
+            if(size != 0){
+                NativeMethods.commitMemory(pointer, (size + pageSize - 1) & -pageSize);
+            }
+        }catch(OutOfMemoryError e){
+            free.run();
+            throw e;
+        }
+        if(UnsafeLargeByteBuffer.isSupported()){
+            buffer = new UnsafeLargeByteBuffer(size, pointer, free, false, false);
+        }else{
+            buffer = new DirectLargeByteBuffer(size, pointer, free, false, false);
+        }
+        buffer.maxSize = maxSize;
+        buffer.reserved = reserved;
+        buffer.committed = (size + pageSize - 1) & -pageSize;
+        return buffer;
+    }
+    
+    @Override
+    public void ensureCapacity(long capacity){
+        if(maxSize == 0 || Long.compareUnsigned(capacity, getSize()) <= 0){
+            super.ensureCapacity(capacity);
+            return;
+        }
+        if(Long.compareUnsigned(capacity, maxSize) > 0){
+            throw new IllegalArgumentException("capacity is larger than the maximum size");
+        }
+        if(Long.compareUnsigned(capacity, committed) > 0){
+            // Commit at least double so appending a little at a time does
+            //  not need a system call every time.
+            long pageSize = NativeMethods.getPageSize();
+            long target = Math.max(capacity, Math.min(committed * 2, reserved));
+            target = Math.min((target + pageSize - 1) & -pageSize, reserved);
+            NativeMethods.commitMemory(pointer + committed, target - committed);
+            committed = target;
+        }
+        grow(capacity);
+    }
+    
+    private static int toNative(MemoryAdvice advice){
+        switch(advice){
+            case NORMAL: return NativeMethods.ADVICE_NORMAL;
+            case SEQUENTIAL: return NativeMethods.ADVICE_SEQUENTIAL;
+            case RANDOM: return NativeMethods.ADVICE_RANDOM;
+            case WILLNEED: return NativeMethods.ADVICE_WILLNEED;
+            case DONTNEED: return NativeMethods.ADVICE_DONTNEED;
+            case HUGEPAGE: return NativeMethods.ADVICE_HUGEPAGE;
+            default: throw new IllegalArgumentException("unknown advice " + advice);
+        }
+    }
+    
+    @Override
+    public boolean advise(long offset, long length, MemoryAdvice advice){
+        if(advice == null){
+            throw new NullPointerException("advice");
+        }
+        checkCapacityRead(offset, length);
+        // Only the Unsafe implementation can get here without the library
+        if(length == 0 || !Library.isMappingAvailable()){
+            return false;
+        }
+        return NativeMethods.adviseMemory(pointer + offset, length, toNative(advice));
+    }
+    
+    @Override
+    public void fill(long offset, long length, byte value){
+        checkCapacityWrite(offset, length);
+        Allocator.fill(pointer + offset, length, value);
+    }
+    
+    @Override
+    public void copyTo(long offset, LargeByteBuffer dest, long destOffset, long length){
+        if(!(dest instanceof DirectLargeByteBuffer)){
+            super.copyTo(offset, dest, destOffset, length);
+            return;
+        }
+        checkCapacityRead(offset, length);
+        DirectLargeByteBuffer direct = (DirectLargeByteBuffer)dest;
+        direct.checkCapacityWrite(destOffset, length);
+        Allocator.copy(pointer + offset, direct.pointer + destOffset, length);
+    }
+    
+    @Override
+    public long mismatch(long offset, LargeByteBuffer other, long otherOffset, long length){
+        if(!(other instanceof DirectLargeByteBuffer)){
+            return super.mismatch(offset, other, otherOffset, length);
+        }
+        checkCapacityRead(offset, length);
+        DirectLargeByteBuffer direct = (DirectLargeByteBuffer)other;
+        direct.checkCapacityRead(otherOffset, length);
+        return Allocator.mismatch(pointer + offset, direct.pointer + otherOffset, length);
+    }
+    
+    @Override
+    public int hashCode(long offset, long length){
+        checkCapacityRead(offset, length);
+        return Allocator.hashCode(pointer + offset, length);
+    }
+    
+    @Override
+    public void force(long offset, long length){
+        checkCapacityRead(offset, length);
+        if(mapped && length != 0){
+            try{
+                NativeMethods.syncMemory(pointer + offset, length);
+            }catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+    
+    @Override
+    public void unmap(){
+        if(!mapped){
+            throw new UnsupportedOperationException("buffer does not map a file");
+        }
+        owner.free();
+    }
+    
+    @Override
+    public void close(){
+        if(owner == this){
+            free();
+        }else{
+            invalidate();
+        }
+    }
+    
+    /**
+     * Frees the memory of this buffer right away, invalidating every
+     * view of it. Only valid on owners.
+     *
+     * The cleaner shares the {@link Deallocator}, once the memory is
+     * freed here it no longer holds on to the free action and does
+     * nothing when the buffer is collected.
+     * */
+    private void free(){
+        synchronized(this){
+            if(views != null){
+                for(WeakReference<DirectLargeByteBuffer> reference : views){
+                    DirectLargeByteBuffer view = reference.get();
+                    if(view != null){
+                        view.invalidate();
+                    }
+                }
+                views = null;
+            }
+        }
+        invalidate();
+        deallocator.close();
+    }
+    
+    private synchronized void addView(DirectLargeByteBuffer view){
+        if(views == null){
+            views = new ArrayList<>();
+        }else if(views.size() >= viewPruneThreshold){
+            views.removeIf((reference)->reference.get() == null);
+            viewPruneThreshold = Math.max(16, views.size() * 2);
+        }
+        views.add(new WeakReference<>(view));
+    }
+    
+    /**
+     * Creates a view of this buffer, subclasses override this so views
+     * use the same implementation.
+     *
+     * @param size The size of the view
+     * @param pointer The pointer to the start of the view
+     * @param tracked True to register the view with the owner
+     *
+     * @return The new view
+     * */
+    DirectLargeByteBuffer createView(long size, long pointer, boolean tracked){
+        return new DirectLargeByteBuffer(size, pointer, this, tracked);
+    }
+    
+    @Override
+    public DirectLargeByteBuffer slice(long start, long length){
+        return slice(start, length, true);
+    }
+    
+    /**
+     * Creates a slice that might not be tracked, see
+     * {@link Allocator#sliceUntracked(LargeByteBuffer, long, long)}.
+     *
+     * @param start The start of the slice
+     * @param length The length of the slice
+     * @param tracked True to register the slice with the owner
+     *
+     * @return The slice
+     * */
+    DirectLargeByteBuffer slice(long start, long length, boolean tracked){
+        checkCapacityRead(start, length);
+        DirectLargeByteBuffer view = createView(length, pointer + start, tracked);
+        view.setByteOrder(getByteOrder());
+        return view;
+    }
+    
+    @Override
+    public DirectLargeByteBuffer duplicate(){
+        DirectLargeByteBuffer view = createView(getSize(), pointer, true);
+        view.setByteOrder(getByteOrder());
+        view.setOffset(getOffset());
+        return view;
+    }
+    
+    @Override
+    public ByteBuffer asByteBuffer(long offset, int length){
+        if(length < 0){
+            throw new IllegalArgumentException("length was negative");
+        }
+        checkCapacityRead(offset, length);
+        if(!Library.isAvailable()){
+            throw new UnsupportedOperationException("buffer can not be shared with a ByteBuffer without the native library");
+        }
+        ByteBuffer window = NativeMethods.newDirectByteBuffer(pointer + offset, length);
+        // The window knows nothing about this buffer, so keep this buffer
+        //  reachable until the window is collected. Views of the window
+        //  reference it, so they are covered as well.
+        Cleaner.addCleaner(window, ()->Reference.reachabilityFence(this));
+        window.order(getByteOrder());
+        return isReadOnly() ? window.asReadOnlyBuffer().order(getByteOrder()) : window;
+    }
+    
+    /**
+     * Copies native memory into a primitive array.
+     *
+     * @param source The native address to copy from
+     * @param dest The primitive array
+     * @param offset The offset into the array in bytes
+     * @param size The size of the copy in bytes
+     * */
+    void copyToArray(long source, Object dest, long offset, long size){
+        NativeMethods.copyToArray(source, dest, offset, size);
+    }
+    
+    /**
+     * Copies a primitive array into native memory.
+     *
+     * @param source The primitive array
+     * @param offset The offset into the array in bytes
+     * @param dest The native address to copy to
+     * @param size The size of the copy in bytes
+     * */
+    void copyFromArray(Object source, long offset, long dest, long size){
+        NativeMethods.copyFromArray(source, offset, dest, size);
+    }
+    
+    /**
+     * Copies native memory into a primitive array, reversing the byte
+     * order of every element.
+     *
+     * @param source The native address to copy from
+     * @param dest The primitive array
+     * @param offset The offset into the array in bytes
+     * @param size The size of the copy in bytes
+     * @param width The size of an element, 2, 4 or 8
+     * */
+    void copyToArraySwapped(long source, Object dest, long offset, long size, int width){
+        NativeMethods.copyToArraySwapped(source, dest, offset, size, width);
+    }
+    
+    /**
+     * Copies a primitive array into native memory, reversing the byte
+     * order of every element.
+     *
+     * @param source The primitive array
+     * @param offset The offset into the array in bytes
+     * @param dest The native address to copy to
+     * @param size The size of the copy in bytes
+     * @param width The size of an element, 2, 4 or 8
+     * */
+    void copyFromArraySwapped(Object source, long offset, long dest, long size, int width){
+        NativeMethods.copyFromArraySwapped(source, offset, dest, size, width);
+    }
+    
+    /**
+     * Copies native memory into a boolean array, any non-zero byte
+     * is read as true.
+     *
+     * @param source The native address to copy from
+     * @param dest The boolean array
+     * @param offset The offset into the array
+     * @param length The amount of booleans to copy
+     * */
+    void copyToBooleanArray(long source, boolean[] dest, int offset, int length){
+        NativeMethods.copyToBooleanArray(source, dest, offset, length);
+    }
+    
+    @Override
+    public byte getByte(long offset){
+        checkCapacityRead(offset, Byte.BYTES);
+        return NativeMethods.getByte(pointer + offset);
+    }
+    
+    @Override
+    public short getShort(long offset){
+        checkCapacityRead(offset, Short.BYTES);
+        short value = NativeMethods.getShort(pointer + offset);
+        return isByteOrderNative() ? value : Short.reverseBytes(value);
+    }
+    
+    @Override
+    public int getInt(long offset){
+        checkCapacityRead(offset, Integer.BYTES);
+        int value = NativeMethods.getInt(pointer + offset);
+        return isByteOrderNative() ? value : Integer.reverseBytes(value);
+    }
+    
+    @Override
+    public long getLong(long offset){
+        checkCapacityRead(offset, Long.BYTES);
+        long value = NativeMethods.getLong(pointer + offset);
+        return isByteOrderNative() ? value : Long.reverseBytes(value);
+    }
+    
+    @Override
+    public void putByte(byte value, long offset){
+        checkCapacityWrite(offset, Byte.BYTES);
+        NativeMethods.putByte(pointer + offset, value);
+    }
+    
+    @Override
+    public void putShort(short value, long offset){
+        checkCapacityWrite(offset, Short.BYTES);
+        NativeMethods.putShort(
+            pointer + offset,
+            isByteOrderNative() ? value : Short.reverseBytes(value)
+        );
+    }
+    
+    @Override
+    public void putInt(int value, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        NativeMethods.putInt(
+            pointer + offset,
+            isByteOrderNative() ? value : Integer.reverseBytes(value)
+        );
+    }
+    
+    @Override
+    public void putLong(long value, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        NativeMethods.putLong(
+            pointer + offset,
+            isByteOrderNative() ? value : Long.reverseBytes(value)
+        );
+    }
+    
+    @Override
+    protected int getIntRaw(long offset){
+        checkCapacityRead(offset, Integer.BYTES);
+        return NativeMethods.getInt(pointer + offset);
+    }
+    
+    @Override
+    protected void putIntRaw(int value, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        NativeMethods.putInt(pointer + offset, value);
+    }
+    
+    @Override
+    protected long getLongRaw(long offset){
+        checkCapacityRead(offset, Long.BYTES);
+        return NativeMethods.getLong(pointer + offset);
+    }
+    
+    @Override
+    protected void putLongRaw(long value, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        NativeMethods.putLong(pointer + offset, value);
+    }
+    
+    /**
+     * Checks an atomic access and gets the address it uses, atomic
+     * accesses have to be aligned to their size in memory.
+     *
+     * @param offset The offset of the access
+     * @param bytes The size of the access
+     * @param write True if the access writes
+     *
+     * @return The address of the access
+     * */
+    final long atomicAddress(long offset, int bytes, boolean write){
+        if(write){
+            checkCapacityWrite(offset, bytes);
+        }else{
+            checkCapacityRead(offset, bytes);
+        }
+        long address = pointer + offset;
+        if((address & (bytes - 1)) != 0){
+            throw new IllegalArgumentException("offset is not aligned");
+        }
+        return address;
+    }
+    
+    @Override
+    protected int getIntVolatileRaw(long offset){
+        return NativeMethods.getIntVolatile(atomicAddress(offset, Integer.BYTES, false));
+    }
+    
+    @Override
+    protected void putIntVolatileRaw(int value, long offset){
+        NativeMethods.putIntVolatile(atomicAddress(offset, Integer.BYTES, true), value);
+    }
+    
+    @Override
+    protected boolean compareAndSetIntRaw(int expected, int value, long offset){
+        return NativeMethods.compareAndSetInt(atomicAddress(offset, Integer.BYTES, true), expected, value);
+    }
+    
+    @Override
+    protected int getAndAddIntRaw(int delta, long offset){
+        return NativeMethods.getAndAddInt(atomicAddress(offset, Integer.BYTES, true), delta);
+    }
+    
+    @Override
+    protected int getAndSetIntRaw(int value, long offset){
+        return NativeMethods.getAndSetInt(atomicAddress(offset, Integer.BYTES, true), value);
+    }
+    
+    @Override
+    protected long getLongVolatileRaw(long offset){
+        return NativeMethods.getLongVolatile(atomicAddress(offset, Long.BYTES, false));
+    }
+    
+    @Override
+    protected void putLongVolatileRaw(long value, long offset){
+        NativeMethods.putLongVolatile(atomicAddress(offset, Long.BYTES, true), value);
+    }
+    
+    @Override
+    protected boolean compareAndSetLongRaw(long expected, long value, long offset){
+        return NativeMethods.compareAndSetLong(atomicAddress(offset, Long.BYTES, true), expected, value);
+    }
+    
+    @Override
+    protected long getAndAddLongRaw(long delta, long offset){
+        return NativeMethods.getAndAddLong(atomicAddress(offset, Long.BYTES, true), delta);
+    }
+    
+    @Override
+    protected long getAndSetLongRaw(long value, long offset){
+        return NativeMethods.getAndSetLong(atomicAddress(offset, Long.BYTES, true), value);
+    }
+    
+    @Override
+    public void getBooleans(boolean[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityRead(pointer, length);
+        copyToBooleanArray(this.pointer + pointer, values, offset, length);
+    }
+    
+    @Override
+    public void getBytes(byte[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityRead(pointer, length);
+        copyToArray(this.pointer + pointer, values, offset, length);
+    }
+    
+    @Override
+    public void getShorts(short[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityRead(pointer, (long)Short.BYTES * length);
+        if(isByteOrderNative()){
+            copyToArray(
+                this.pointer + pointer,
+                values,
+                (long)Short.BYTES * offset,
+                (long)Short.BYTES * length
+            );
+        }else{
+            copyToArraySwapped(
+                this.pointer + pointer,
+                values,
+                (long)Short.BYTES * offset,
+                (long)Short.BYTES * length,
+                Short.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void getChars(char[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityRead(pointer, (long)Character.BYTES * length);
+        if(isByteOrderNative()){
+            copyToArray(
+                this.pointer + pointer,
+                values,
+                (long)Character.BYTES * offset,
+                (long)Character.BYTES * length
+            );
+        }else{
+            copyToArraySwapped(
+                this.pointer + pointer,
+                values,
+                (long)Character.BYTES * offset,
+                (long)Character.BYTES * length,
+                Character.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void getInts(int[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityRead(pointer, (long)Integer.BYTES * length);
+        if(isByteOrderNative()){
+            copyToArray(
+                this.pointer + pointer,
+                values,
+                (long)Integer.BYTES * offset,
+                (long)Integer.BYTES * length
+            );
+        }else{
+            copyToArraySwapped(
+                this.pointer + pointer,
+                values,
+                (long)Integer.BYTES * offset,
+                (long)Integer.BYTES * length,
+                Integer.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void getFloats(float[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityRead(pointer, (long)Float.BYTES * length);
+        if(isByteOrderNative()){
+            copyToArray(
+                this.pointer + pointer,
+                values,
+                (long)Float.BYTES * offset,
+                (long)Float.BYTES * length
+            );
+        }else{
+            copyToArraySwapped(
+                this.pointer + pointer,
+                values,
+                (long)Float.BYTES * offset,
+                (long)Float.BYTES * length,
+                Float.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void getLongs(long[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityRead(pointer, (long)Long.BYTES * length);
+        if(isByteOrderNative()){
+            copyToArray(
+                this.pointer + pointer,
+                values,
+                (long)Long.BYTES * offset,
+                (long)Long.BYTES * length
+            );
+        }else{
+            copyToArraySwapped(
+                this.pointer + pointer,
+                values,
+                (long)Long.BYTES * offset,
+                (long)Long.BYTES * length,
+                Long.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void getDoubles(double[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityRead(pointer, (long)Double.BYTES * length);
+        if(isByteOrderNative()){
+            copyToArray(
+                this.pointer + pointer,
+                values,
+                (long)Double.BYTES * offset,
+                (long)Double.BYTES * length
+            );
+        }else{
+            copyToArraySwapped(
+                this.pointer + pointer,
+                values,
+                (long)Double.BYTES * offset,
+                (long)Double.BYTES * length,
+                Double.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void putBooleans(boolean[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityWrite(pointer, length);
+        copyFromArray(values, offset, this.pointer + pointer, length);
+    }
+    
+    @Override
+    public void putBytes(byte[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityWrite(pointer, length);
+        copyFromArray(values, offset, this.pointer + pointer, length);
+    }
+    
+    @Override
+    public void putShorts(short[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityWrite(pointer, (long)Short.BYTES * length);
+        if(isByteOrderNative()){
+            copyFromArray(
+                values,
+                (long)Short.BYTES * offset,
+                this.pointer + pointer,
+                (long)Short.BYTES * length
+            );
+        }else{
+            copyFromArraySwapped(
+                values,
+                (long)Short.BYTES * offset,
+                this.pointer + pointer,
+                (long)Short.BYTES * length,
+                Short.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void putChars(char[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityWrite(pointer, (long)Character.BYTES * length);
+        if(isByteOrderNative()){
+            copyFromArray(
+                values,
+                (long)Character.BYTES * offset,
+                this.pointer + pointer,
+                (long)Character.BYTES * length
+            );
+        }else{
+            copyFromArraySwapped(
+                values,
+                (long)Character.BYTES * offset,
+                this.pointer + pointer,
+                (long)Character.BYTES * length,
+                Character.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void putInts(int[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityWrite(pointer, (long)Integer.BYTES * length);
+        if(isByteOrderNative()){
+            copyFromArray(
+                values,
+                (long)Integer.BYTES * offset,
+                this.pointer + pointer,
+                (long)Integer.BYTES * length
+            );
+        }else{
+            copyFromArraySwapped(
+                values,
+                (long)Integer.BYTES * offset,
+                this.pointer + pointer,
+                (long)Integer.BYTES * length,
+                Integer.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void putFloats(float[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityWrite(pointer, (long)Float.BYTES * length);
+        if(isByteOrderNative()){
+            copyFromArray(
+                values,
+                (long)Float.BYTES * offset,
+                this.pointer + pointer,
+                (long)Float.BYTES * length
+            );
+        }else{
+            copyFromArraySwapped(
+                values,
+                (long)Float.BYTES * offset,
+                this.pointer + pointer,
+                (long)Float.BYTES * length,
+                Float.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void putLongs(long[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityWrite(pointer, (long)Long.BYTES * length);
+        if(isByteOrderNative()){
+            copyFromArray(
+                values,
+                (long)Long.BYTES * offset,
+                this.pointer + pointer,
+                (long)Long.BYTES * length
+            );
+        }else{
+            copyFromArraySwapped(
+                values,
+                (long)Long.BYTES * offset,
+                this.pointer + pointer,
+                (long)Long.BYTES * length,
+                Long.BYTES
+            );
+        }
+    }
+    
+    @Override
+    public void putDoubles(double[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityWrite(pointer, (long)Double.BYTES * length);
+        if(isByteOrderNative()){
+            copyFromArray(
+                values,
+                (long)Double.BYTES * offset,
+                this.pointer + pointer,
+                (long)Double.BYTES * length
+            );
+        }else{
+            copyFromArraySwapped(
+                values,
+                (long)Double.BYTES * offset,
+                this.pointer + pointer,
+                (long)Double.BYTES * length,
+                Double.BYTES
+            );
+        }
+    }
+}
@@ -7,8 +7,42 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 class Library{
+    private static boolean loaded = false;
+    private static Boolean available = null;
+    
+    /**
+     * Checks if the native library can be loaded on this platform,
+     * loading it if it was not loaded yet.
+     *
+     * @return True if the native library is loaded
+     * */
+    static synchronized boolean isAvailable(){
+        if(available == null){
+            try{
+                loadLibrary();
+                available = true;
+            }catch(RuntimeException | LinkageError e){
+                available = false;
+            }
+        }
+        return available;
+    }
+    
+    /**
+     * Checks if the native library can map memory, it only can on POSIX
+     * systems.
+     *
+     * @return True if the mapping functions of the native library work
+     * */
+    static boolean isMappingAvailable(){
+        return !System.getProperty("os.name").toLowerCase().contains("window") && isAvailable();
+    }
+    
     @SuppressWarnings("Duplicates")
-    static void loadLibrary(){
+    static synchronized void loadLibrary(){
+        if(loaded){
+            return;
+        }
         try{
             String extension;
             String os = System.getProperty("os.name").toLowerCase();
@@ -27,6 +61,7 @@ class Library{
             }
             System.load(libraryFile.getAbsolutePath());
             libraryFile.deleteOnExit();
+            loaded = true;
         }catch(IOException e){
             throw new RuntimeException("Failed to load natives", e);
         }
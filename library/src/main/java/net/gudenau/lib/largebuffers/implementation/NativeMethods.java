@@ -0,0 +1,917 @@
+package net.gudenau.lib.largebuffers.implementation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import net.gudenau.lib.annotation.NonNull;
+import net.gudenau.lib.annotation.Pointer;
+import net.gudenau.lib.annotation.Unsigned;
+
+public final class NativeMethods{
+    static{
+        Library.loadLibrary();
+    }
+    
+    private static final int ADDRESS_SIZE = doGetAddressSize();
+    private static final long PAGE_SIZE = doGetPageSize();
+    private static final long HUGE_PAGE_SIZE = doGetHugePageSize();
+    public static final long NULL = 0;
+    
+    public static final int MAP_READ_ONLY = 0;
+    public static final int MAP_READ_WRITE = 1;
+    public static final int MAP_PRIVATE = 2;
+    
+    public static final int ADVICE_NORMAL = 0;
+    public static final int ADVICE_SEQUENTIAL = 1;
+    public static final int ADVICE_RANDOM = 2;
+    public static final int ADVICE_WILLNEED = 3;
+    public static final int ADVICE_DONTNEED = 4;
+    public static final int ADVICE_HUGEPAGE = 5;
+    
+    /**
+     * Gets the size of the native pointer, 4 on 32 bit and 8
+     * on 64.
+     *
+     * @return The size of native pointers
+     * */
+    @Unsigned
+    public static int getAddressSize(){
+        return ADDRESS_SIZE;
+    }
+    
+    /**
+     * Gets the size of a page of virtual memory.
+     *
+     * @return The size of a page
+     * */
+    @Unsigned
+    public static long getPageSize(){
+        return PAGE_SIZE;
+    }
+    
+    /**
+     * Gets the size of a transparent huge page, memory has to be
+     * aligned to this for the kernel to back it with huge pages.
+     *
+     * @return The size of a huge page
+     * */
+    @Unsigned
+    public static long getHugePageSize(){
+        return HUGE_PAGE_SIZE;
+    }
+    
+    /**
+     * Allocates native memory.
+     *
+     * @return The native pointer to the allocated memory
+     *
+     * @throws java.lang.IllegalArgumentException If the size
+     *          is too large for the native pointer
+     *
+     * @throws java.lang.OutOfMemoryError If the memory could
+     *          not be allocated
+     * */
+    @Pointer
+    public static long allocateMemory(@Unsigned long size){
+        checkNativeSize(size);
+        
+        long pointer = doAllocateMemory(size);
+        if(pointer == 0){
+            throw new OutOfMemoryError("Failed to allocate memory");
+        }
+        return pointer;
+    }
+    
+    /**
+     * Allocates native memory that is filled with zeros. Large
+     * allocations get pages that the kernel zeros when they are first
+     * touched, so nothing is written up front. Free the memory with
+     * {@link #freeMemory(long)}.
+     *
+     * @return The native pointer to the allocated memory
+     *
+     * @throws java.lang.IllegalArgumentException If the size
+     *          is too large for the native pointer
+     *
+     * @throws java.lang.OutOfMemoryError If the memory could
+     *          not be allocated
+     * */
+    @Pointer
+    public static long allocateZeroedMemory(@Unsigned long size){
+        checkNativeSize(size);
+        
+        long pointer = doAllocateZeroedMemory(size);
+        if(pointer == 0){
+            throw new OutOfMemoryError("Failed to allocate memory");
+        }
+        return pointer;
+    }
+    
+    private static void checkNativeSize(@Unsigned long size){
+        // For some reason 0xFFFFFFFFFFFFFFFFL << 64 equals 0xFFFFFFFFFFFFFFFFL
+        //  and not 0. How odd.
+        if(ADDRESS_SIZE < 8 && (size & (-1L << (ADDRESS_SIZE * 8))) != 0){
+            throw new IllegalArgumentException(
+                "size does not fit inside native size"
+            );
+        }
+    }
+    
+    /**
+     * Frees native memory.
+     *
+     * @throws java.lang.NullPointerException If the pointer was
+     *          null.
+     * */
+    public static void freeMemory(@NonNull @Pointer long pointer){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doFreeMemory(pointer);
+    }
+    
+    /**
+     * Maps a region of a file into memory. When mapped with
+     * {@link #MAP_READ_WRITE} the file is grown to fit the region.
+     *
+     * @param path The path of the file
+     * @param mode One of {@link #MAP_READ_ONLY}, {@link #MAP_READ_WRITE}
+     *             or {@link #MAP_PRIVATE}
+     * @param offset The page aligned offset into the file
+     * @param size The size of the region
+     *
+     * @return The native pointer to the mapped region
+     *
+     * @throws java.lang.NullPointerException If the path was null
+     * @throws java.io.IOException If the file could not be mapped or
+     *          is too short for the region
+     * */
+    @Pointer
+    public static long mapFile(@NonNull String path, int mode, @Unsigned long offset, @Unsigned long size) throws IOException{
+        if(path == null){
+            throw new NullPointerException("path");
+        }
+        return doMapFile(path, mode, offset, size);
+    }
+    
+    /**
+     * Maps a region of anonymous memory, the kernel fills it with
+     * zeros the first time each page is touched. Unmap it with
+     * {@link #unmapMemory(long, long)}.
+     *
+     * @param size The size of the region
+     * @param alignment The alignment of the region, a power of two
+     *                  that is at least the page size
+     *
+     * @return The native pointer to the mapped region
+     *
+     * @throws java.lang.IllegalArgumentException If the alignment is
+     *          not a power of two or the size is too large for the
+     *          native pointer
+     * @throws java.lang.OutOfMemoryError If the memory could
+     *          not be mapped
+     * */
+    @Pointer
+    public static long mapAnonymous(@Unsigned long size, @Unsigned long alignment){
+        checkNativeSize(size);
+        if(alignment == 0 || (alignment & (alignment - 1)) != 0){
+            throw new IllegalArgumentException("alignment is not a power of two");
+        }
+        
+        long pointer = doMapAnonymous(size, Math.max(alignment, PAGE_SIZE));
+        if(pointer == 0){
+            throw new OutOfMemoryError("Failed to map memory");
+        }
+        return pointer;
+    }
+    
+    /**
+     * Reserves a region of address space without any memory behind it,
+     * parts of it are made usable with {@link #commitMemory(long, long)}.
+     * Unmap it with {@link #unmapMemory(long, long)}.
+     *
+     * @param size The size of the region
+     *
+     * @return The native pointer to the reserved region
+     *
+     * @throws java.lang.IllegalArgumentException If the size is too
+     *          large for the native pointer
+     * @throws java.lang.OutOfMemoryError If the address space could
+     *          not be reserved
+     * */
+    @Pointer
+    public static long reserveMemory(@Unsigned long size){
+        checkNativeSize(size);
+        
+        long pointer = doReserveMemory(size);
+        if(pointer == 0){
+            throw new OutOfMemoryError("Failed to reserve address space");
+        }
+        return pointer;
+    }
+    
+    /**
+     * Makes part of a region from {@link #reserveMemory(long)} readable
+     * and writable. The memory reads as zeros until it is written.
+     *
+     * @param pointer The page aligned pointer of the part
+     * @param size The size of the part
+     *
+     * @throws java.lang.NullPointerException If the pointer was
+     *          null
+     * @throws java.lang.OutOfMemoryError If the memory could
+     *          not be committed
+     * */
+    public static void commitMemory(@NonNull @Pointer long pointer, @Unsigned long size){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        if(!doCommitMemory(pointer, size)){
+            throw new OutOfMemoryError("Failed to commit memory");
+        }
+    }
+    
+    /**
+     * Unmaps a region of memory that was mapped with
+     * {@link #mapFile(String, int, long, long)},
+     * {@link #mapAnonymous(long, long)} or {@link #reserveMemory(long)}.
+     *
+     * @param pointer The pointer of the region
+     * @param size The size of the region
+     *
+     * @throws java.lang.NullPointerException If the pointer was
+     *          null
+     * */
+    public static void unmapMemory(@NonNull @Pointer long pointer, @Unsigned long size){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doUnmapMemory(pointer, size);
+    }
+    
+    /**
+     * Writes changes to a region of mapped memory back to the file
+     * and waits for the write to finish. The pointer does not have to
+     * be page aligned.
+     *
+     * @param pointer The pointer of the region
+     * @param size The size of the region
+     *
+     * @throws java.lang.NullPointerException If the pointer was
+     *          null
+     * @throws java.io.IOException If the changes could not be written
+     * */
+    public static void syncMemory(@NonNull @Pointer long pointer, @Unsigned long size) throws IOException{
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doSyncMemory(pointer, size);
+    }
+    
+    /**
+     * Tells the kernel how a region of memory is going to be used. The
+     * pointer does not have to be page aligned, {@link #ADVICE_DONTNEED}
+     * only applies to the pages that are entirely inside of the region
+     * and every other advice applies to every page the region touches.
+     *
+     * @param pointer The pointer of the region
+     * @param size The size of the region
+     * @param advice One of the ADVICE constants
+     *
+     * @return True if the kernel accepted the advice
+     *
+     * @throws java.lang.NullPointerException If the pointer was
+     *          null
+     * */
+    public static boolean adviseMemory(@NonNull @Pointer long pointer, @Unsigned long size, int advice){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doAdviseMemory(pointer, size, advice);
+    }
+    
+    /**
+     * Creates a direct {@link java.nio.ByteBuffer ByteBuffer} that uses
+     * an area of memory, the caller has to make sure the memory outlives
+     * the {@link java.nio.ByteBuffer ByteBuffer}.
+     *
+     * @param pointer The pointer to the memory
+     * @param size The size of the memory
+     *
+     * @return The new {@link java.nio.ByteBuffer ByteBuffer}
+     *
+     * @throws java.lang.NullPointerException If the pointer was
+     *          null
+     * @throws java.lang.UnsupportedOperationException If the JVM does
+     *          not support direct buffers from JNI
+     * */
+    public static ByteBuffer newDirectByteBuffer(@NonNull @Pointer long pointer, int size){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        ByteBuffer buffer = doNewDirectByteBuffer(pointer, size);
+        if(buffer == null){
+            throw new UnsupportedOperationException("JVM does not support direct buffers from JNI");
+        }
+        return buffer;
+    }
+    
+    /**
+     * Sets an area of memory pointed to by pointer to value.
+     *
+     * @param pointer The pointer of the memory to set
+     * @param value The value to set
+     * @param size The size of the memory to set
+     *
+     * @throws java.lang.NullPointerException If the pointer was
+     *          null
+     * */
+    public static void memset(@NonNull @Pointer long pointer, byte value, @Unsigned long size){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        domemset(pointer, value, size);
+    }
+    
+    /**
+     * Copies an area of memory from one location to another, the areas
+     * may overlap.
+     *
+     * @param source The source location to copy
+     * @param dest The destination of the copy
+     * @param size The size of the copy
+     *
+     * @throws java.lang.NullPointerException If either pointer
+     *          was null
+     * */
+    public static void memcpy(@NonNull @Pointer long source, @NonNull @Pointer long dest, @Unsigned long size){
+        if(source == NULL){
+            throw new NullPointerException("source");
+        }
+        if(dest == NULL){
+            throw new NullPointerException("dest");
+        }
+        domemcpy(source, dest, size);
+    }
+    
+    /**
+     * Finds the first byte that differs between two areas of memory.
+     *
+     * @param pointer The first area
+     * @param otherPointer The second area
+     * @param size The size of the areas
+     *
+     * @return The index of the first byte that differs or -1 if the
+     *          areas are equal
+     *
+     * @throws java.lang.NullPointerException If either pointer
+     *          was null
+     * */
+    public static long mismatch(@NonNull @Pointer long pointer, @NonNull @Pointer long otherPointer, @Unsigned long size){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        if(otherPointer == NULL){
+            throw new NullPointerException("otherPointer");
+        }
+        return doMismatch(pointer, otherPointer, size);
+    }
+    
+    /**
+     * Calculates the same hash code as {@link java.util.Arrays#hashCode(byte[]) Arrays.hashCode}
+     * for an area of memory.
+     *
+     * @param pointer The area to hash
+     * @param size The size of the area
+     *
+     * @return The hash code
+     *
+     * @throws java.lang.NullPointerException If the pointer was
+     *          null
+     * */
+    public static int hashCode(@NonNull @Pointer long pointer, @Unsigned long size){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doHashCode(pointer, size);
+    }
+    
+    /**
+     * Copies an area of memory into a primitive array, the caller
+     * is responsible for making sure the copy fits inside of the
+     * array.
+     *
+     * @param source The source location to copy
+     * @param dest The destination array
+     * @param offset The offset into the array in bytes
+     * @param size The size of the copy in bytes
+     *
+     * @throws java.lang.NullPointerException If the pointer or the
+     *          array was null
+     * @throws java.lang.IllegalArgumentException If the array was
+     *          not a primitive array
+     * */
+    public static void copyToArray(@NonNull @Pointer long source, @NonNull Object dest, @Unsigned long offset, @Unsigned long size){
+        if(source == NULL){
+            throw new NullPointerException("source");
+        }
+        checkPrimitiveArray(dest, "dest");
+        doCopyToArray(source, dest, offset, size);
+    }
+    
+    /**
+     * Copies a primitive array into an area of memory, the caller
+     * is responsible for making sure the copy fits inside of the
+     * array.
+     *
+     * @param source The source array
+     * @param offset The offset into the array in bytes
+     * @param dest The destination of the copy
+     * @param size The size of the copy in bytes
+     *
+     * @throws java.lang.NullPointerException If the pointer or the
+     *          array was null
+     * @throws java.lang.IllegalArgumentException If the array was
+     *          not a primitive array
+     * */
+    public static void copyFromArray(@NonNull Object source, @Unsigned long offset, @NonNull @Pointer long dest, @Unsigned long size){
+        checkPrimitiveArray(source, "source");
+        if(dest == NULL){
+            throw new NullPointerException("dest");
+        }
+        doCopyFromArray(source, offset, dest, size);
+    }
+    
+    /**
+     * Copies an area of memory into a primitive array, reversing the
+     * byte order of every element. The caller is responsible for
+     * making sure the copy fits inside of the array.
+     *
+     * @param source The source location to copy
+     * @param dest The destination array
+     * @param offset The offset into the array in bytes
+     * @param size The size of the copy in bytes
+     * @param width The size of an element, 2, 4 or 8
+     *
+     * @throws java.lang.NullPointerException If the pointer or the
+     *          array was null
+     * @throws java.lang.IllegalArgumentException If the array was
+     *          not a primitive array or the width was invalid
+     * */
+    public static void copyToArraySwapped(@NonNull @Pointer long source, @NonNull Object dest, @Unsigned long offset, @Unsigned long size, int width){
+        if(source == NULL){
+            throw new NullPointerException("source");
+        }
+        checkPrimitiveArray(dest, "dest");
+        checkWidth(width);
+        doCopyToArraySwapped(source, dest, offset, size, width);
+    }
+    
+    /**
+     * Copies a primitive array into an area of memory, reversing the
+     * byte order of every element. The caller is responsible for
+     * making sure the copy fits inside of the array.
+     *
+     * @param source The source array
+     * @param offset The offset into the array in bytes
+     * @param dest The destination of the copy
+     * @param size The size of the copy in bytes
+     * @param width The size of an element, 2, 4 or 8
+     *
+     * @throws java.lang.NullPointerException If the pointer or the
+     *          array was null
+     * @throws java.lang.IllegalArgumentException If the array was
+     *          not a primitive array or the width was invalid
+     * */
+    public static void copyFromArraySwapped(@NonNull Object source, @Unsigned long offset, @NonNull @Pointer long dest, @Unsigned long size, int width){
+        checkPrimitiveArray(source, "source");
+        if(dest == NULL){
+            throw new NullPointerException("dest");
+        }
+        checkWidth(width);
+        doCopyFromArraySwapped(source, offset, dest, size, width);
+    }
+    
+    /**
+     * Copies an area of memory into a boolean array, any non-zero
+     * byte is read as true. The caller is responsible for making
+     * sure the copy fits inside of the array.
+     *
+     * @param source The source location to copy
+     * @param dest The destination array
+     * @param offset The offset into the array
+     * @param length The amount of booleans to copy
+     *
+     * @throws java.lang.NullPointerException If the pointer or the
+     *          array was null
+     * */
+    public static void copyToBooleanArray(@NonNull @Pointer long source, @NonNull boolean[] dest, int offset, int length){
+        if(source == NULL){
+            throw new NullPointerException("source");
+        }
+        if(dest == null){
+            throw new NullPointerException("dest");
+        }
+        doCopyToBooleanArray(source, dest, offset, length);
+    }
+    
+    private static void checkWidth(int width){
+        if(width != 2 && width != 4 && width != 8){
+            throw new IllegalArgumentException("width must be 2, 4 or 8");
+        }
+    }
+    
+    private static void checkPrimitiveArray(Object array, String name){
+        if(array == null){
+            throw new NullPointerException(name);
+        }
+        Class<?> type = array.getClass().getComponentType();
+        if(type == null || !type.isPrimitive()){
+            throw new IllegalArgumentException(name + " was not a primitive array");
+        }
+    }
+    
+    /**
+     * Gets the boolean at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static boolean getBoolean(@NonNull @Pointer long pointer){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetBoolean(pointer);
+    }
+    
+    /**
+     * Gets the byte at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static byte getByte(@NonNull @Pointer long pointer){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetByte(pointer);
+    }
+    
+    /**
+     * Gets the short at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static short getShort(@NonNull @Pointer long pointer){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetShort(pointer);
+    }
+    
+    /**
+     * Gets the int at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static int getInt(@NonNull @Pointer long pointer){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetInt(pointer);
+    }
+    
+    /**
+     * Gets the long at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static long getLong(@NonNull @Pointer long pointer){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetLong(pointer);
+    }
+    
+    /**
+     * Puts the boolean at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static void putBoolean(@NonNull @Pointer long pointer, boolean value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doPutBoolean(pointer, value);
+    }
+    
+    /**
+     * Puts the byte at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static void putByte(@NonNull @Pointer long pointer, byte value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doPutByte(pointer, value);
+    }
+    
+    /**
+     * Puts the short at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static void putShort(@NonNull @Pointer long pointer, short value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doPutShort(pointer, value);
+    }
+    
+    /**
+     * Puts the int at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static void putInt(@NonNull @Pointer long pointer, int value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doPutInt(pointer, value);
+    }
+    
+    /**
+     * Puts the long at the supplied pointer.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static void putLong(@NonNull @Pointer long pointer, long value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doPutLong(pointer, value);
+    }
+    
+    /**
+     * Gets the int at the supplied pointer with a volatile read, the pointer
+     * has to be aligned to the size of the int.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static int getIntVolatile(@NonNull @Pointer long pointer){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetIntVolatile(pointer);
+    }
+    
+    /**
+     * Puts the int at the supplied pointer with a volatile write, the pointer
+     * has to be aligned to the size of the int.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static void putIntVolatile(@NonNull @Pointer long pointer, int value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doPutIntVolatile(pointer, value);
+    }
+    
+    /**
+     * Atomically sets the int at the supplied pointer if it is the expected
+     * value, the pointer has to be aligned to the size of the int.
+     *
+     * @param pointer The pointer
+     * @return True if the value was set
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static boolean compareAndSetInt(@NonNull @Pointer long pointer, int expected, int value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doCompareAndSetInt(pointer, expected, value);
+    }
+    
+    /**
+     * Atomically adds to the int at the supplied pointer, the pointer has to
+     * be aligned to the size of the int.
+     *
+     * @param pointer The pointer
+     * @return The previous value
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static int getAndAddInt(@NonNull @Pointer long pointer, int delta){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetAndAddInt(pointer, delta);
+    }
+    
+    /**
+     * Atomically sets the int at the supplied pointer, the pointer has to be
+     * aligned to the size of the int.
+     *
+     * @param pointer The pointer
+     * @return The previous value
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static int getAndSetInt(@NonNull @Pointer long pointer, int value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetAndSetInt(pointer, value);
+    }
+    
+    /**
+     * Gets the long at the supplied pointer with a volatile read, the pointer
+     * has to be aligned to the size of the long.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static long getLongVolatile(@NonNull @Pointer long pointer){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetLongVolatile(pointer);
+    }
+    
+    /**
+     * Puts the long at the supplied pointer with a volatile write, the pointer
+     * has to be aligned to the size of the long.
+     *
+     * @param pointer The pointer
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static void putLongVolatile(@NonNull @Pointer long pointer, long value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        doPutLongVolatile(pointer, value);
+    }
+    
+    /**
+     * Atomically sets the long at the supplied pointer if it is the expected
+     * value, the pointer has to be aligned to the size of the long.
+     *
+     * @param pointer The pointer
+     * @return True if the value was set
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static boolean compareAndSetLong(@NonNull @Pointer long pointer, long expected, long value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doCompareAndSetLong(pointer, expected, value);
+    }
+    
+    /**
+     * Atomically adds to the long at the supplied pointer, the pointer has to
+     * be aligned to the size of the long.
+     *
+     * @param pointer The pointer
+     * @return The previous value
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static long getAndAddLong(@NonNull @Pointer long pointer, long delta){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetAndAddLong(pointer, delta);
+    }
+    
+    /**
+     * Atomically sets the long at the supplied pointer, the pointer has to be
+     * aligned to the size of the long.
+     *
+     * @param pointer The pointer
+     * @return The previous value
+     *
+     * @throws java.lang.NullPointerException If the pointer
+     *          was null
+     * */
+    public static long getAndSetLong(@NonNull @Pointer long pointer, long value){
+        if(pointer == NULL){
+            throw new NullPointerException("pointer");
+        }
+        return doGetAndSetLong(pointer, value);
+    }
+    
+    // Misc functions
+    
+    private native static int doGetAddressSize();
+    private native static long doGetPageSize();
+    private native static long doGetHugePageSize();
+    
+    // Memory allocation functions
+    
+    private native static long doAllocateMemory(long size);
+    private native static long doAllocateZeroedMemory(long size);
+    private native static void doFreeMemory(long pointer);
+    
+    // File mapping functions
+    
+    private native static long doMapFile(String path, int mode, long offset, long size) throws IOException;
+    private native static long doMapAnonymous(long size, long alignment);
+    private native static long doReserveMemory(long size);
+    private native static boolean doCommitMemory(long pointer, long size);
+    private native static void doUnmapMemory(long pointer, long size);
+    private native static void doSyncMemory(long pointer, long size) throws IOException;
+    private native static boolean doAdviseMemory(long pointer, long size, int advice);
+    
+    // Direct buffer functions
+    
+    private native static ByteBuffer doNewDirectByteBuffer(long pointer, int size);
+    
+    // Mass memory manipulation functions
+    
+    private native static void domemset(long pointer, byte value, long size);
+    private native static void domemcpy(long source, long dest, long size);
+    private native static long doMismatch(long pointer, long otherPointer, long size);
+    private native static int doHashCode(long pointer, long size);
+    
+    // Array transfer functions
+    
+    private native static void doCopyToArray(long source, Object dest, long offset, long size);
+    private native static void doCopyFromArray(Object source, long offset, long dest, long size);
+    private native static void doCopyToBooleanArray(long source, boolean[] dest, int offset, int length);
+    private native static void doCopyToArraySwapped(long source, Object dest, long offset, long size, int width);
+    private native static void doCopyFromArraySwapped(Object source, long offset, long dest, long size, int width);
+    
+    // Memory get functions
+    
+    private native static boolean doGetBoolean(long pointer);
+    private native static byte doGetByte(long pointer);
+    private native static short doGetShort(long pointer);
+    private native static int doGetInt(long pointer);
+    private native static long doGetLong(long pointer);
+    
+    // Memory put functions
+    private native static void doPutBoolean(long pointer, boolean value);
+    private native static void doPutByte(long pointer, byte value);
+    private native static void doPutShort(long pointer, short value);
+    private native static void doPutInt(long pointer, int value);
+    private native static void doPutLong(long pointer, long value);
+
+    // Atomic functions
+    
+    private native static int doGetIntVolatile(long pointer);
+    private native static void doPutIntVolatile(long pointer, int value);
+    private native static boolean doCompareAndSetInt(long pointer, int expected, int value);
+    private native static int doGetAndAddInt(long pointer, int delta);
+    private native static int doGetAndSetInt(long pointer, int value);
+    private native static long doGetLongVolatile(long pointer);
+    private native static void doPutLongVolatile(long pointer, long value);
+    private native static boolean doCompareAndSetLong(long pointer, long expected, long value);
+    private native static long doGetAndAddLong(long pointer, long delta);
+    private native static long doGetAndSetLong(long pointer, long value);
+}
@@ -0,0 +1,92 @@
+package net.gudenau.lib.largebuffers.implementation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import net.gudenau.lib.largebuffers.Parallelism;
+
+/**
+ * Splits operations on large ranges of memory across the threads of the
+ * {@link net.gudenau.lib.largebuffers.Parallelism Parallelism} pool.
+ * */
+final class ParallelMemory{
+    // Pieces are split on page aligned addresses so threads never write
+    //  to the same page
+    private static final long PIECE_ALIGNMENT = 4096;
+    
+    private ParallelMemory(){}
+    
+    /**
+     * An operation on part of a range.
+     * */
+    @FunctionalInterface
+    interface RangeAction{
+        /**
+         * Runs the operation on a part of the range.
+         *
+         * @param offset The offset of the part in the range
+         * @param length The length of the part
+         * */
+        void run(long offset, long length);
+    }
+    
+    /**
+     * Runs an operation over a range, split into about one piece per
+     * thread if the range is larger than the threshold. Returns once
+     * every piece has finished.
+     *
+     * @param address The address the range starts at, the pieces are
+     *                split on aligned addresses
+     * @param length The length of the range
+     * @param action The operation to run
+     * */
+    static void run(long address, long length, RangeAction action){
+        ForkJoinPool pool = Parallelism.getPool();
+        int pieces = pool.getParallelism();
+        if(pieces <= 1 || Long.compareUnsigned(length, Parallelism.getThreshold()) <= 0){
+            action.run(0, length);
+            return;
+        }
+        long pieceLength = ((length / pieces) + PIECE_ALIGNMENT) & -PIECE_ALIGNMENT;
+        pool.invoke(new RangeTask(action, address, 0, length, pieceLength));
+    }
+    
+    @SuppressWarnings("serial")
+    private static final class RangeTask extends RecursiveAction{
+        private final RangeAction action;
+        private final long address;
+        private final long offset;
+        private final long length;
+        private final long pieceLength;
+        
+        RangeTask(RangeAction action, long address, long offset, long length, long pieceLength){
+            this.action = action;
+            this.address = address;
+            this.offset = offset;
+            this.length = length;
+            this.pieceLength = pieceLength;
+        }
+        
+        @Override
+        protected void compute(){
+            if(length <= pieceLength){
+                action.run(offset, length);
+                return;
+            }
+            // Split close to the middle on an aligned address, rounding up
+            //  if rounding down would leave the first half empty
+            long middle = address + offset + length / 2;
+            long half = (middle & -PIECE_ALIGNMENT) - address - offset;
+            if(half <= 0){
+                half = ((middle + PIECE_ALIGNMENT - 1) & -PIECE_ALIGNMENT) - address - offset;
+                if(half >= length){
+                    action.run(offset, length);
+                    return;
+                }
+            }
+            invokeAll(
+                new RangeTask(action, address, offset, half, pieceLength),
+                new RangeTask(action, address, offset + half, length - half, pieceLength)
+            );
+        }
+    }
+}
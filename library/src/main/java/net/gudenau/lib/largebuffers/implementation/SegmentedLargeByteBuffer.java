@@ -0,0 +1,457 @@
+package net.gudenau.lib.largebuffers.implementation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import net.gudenau.lib.largebuffers.ByteBufferGlueLogic;
+import net.gudenau.lib.largebuffers.LargeByteBuffer;
+
+/**
+ * A {@link net.gudenau.lib.largebuffers.LargeByteBuffer} made out of many
+ * fixed size chunks of native memory instead of a single allocation.
+ *
+ * Chunks are only allocated the first time they are written to, reading
+ * a chunk that was never written returns zeros without allocating it.
+ * Huge buffers that are mostly empty only use memory for the parts that
+ * hold data, and no single allocation ever has to be larger than a chunk.
+ *
+ * Values that cross the end of a chunk are split over both chunks. The
+ * memory is not contiguous, so this implementation does not support
+ * slices or {@link java.nio.ByteBuffer ByteBuffer} windows.
+ * */
+public class SegmentedLargeByteBuffer extends ByteBufferGlueLogic<SegmentedLargeByteBuffer>{
+    /**
+     * The default size of a chunk, one huge page on x86.
+     * */
+    public static final long DEFAULT_CHUNK_SIZE = 2 * 1024 * 1024;
+    
+    private static final boolean NATIVE_BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+    // Written in place of chunks that were never allocated
+    private static final ByteBuffer ZEROS = ByteBuffer.allocateDirect(64 * 1024).asReadOnlyBuffer();
+    
+    private final long chunkSize;
+    private final int chunkShift;
+    private final long chunkMask;
+    // Read without locking on every access, chunks are only ever added
+    private final AtomicReferenceArray<LargeByteBuffer> chunks;
+    
+    public SegmentedLargeByteBuffer(long size){
+        this(size, DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * Creates a new buffer, no memory is allocated until it is written to.
+     *
+     * @param size The size of the buffer
+     * @param chunkSize The size of each chunk, a power of two that is
+     *                  at least 8
+     *
+     * @throws java.lang.IllegalArgumentException If the chunk size is not
+     *          a power of two, is smaller than 8 or the size needs too
+     *          many chunks
+     * */
+    public SegmentedLargeByteBuffer(long size, long chunkSize){
+        super(size);
+        if(chunkSize <= 0 || (chunkSize & (chunkSize - 1)) != 0){
+            throw new IllegalArgumentException("chunkSize is not a power of two");
+        }
+        // Aligned longs have to fit inside of a single chunk for the atomics
+        if(chunkSize < Long.BYTES){
+            throw new IllegalArgumentException("chunkSize is smaller than " + Long.BYTES);
+        }
+        this.chunkSize = chunkSize;
+        this.chunkShift = Long.numberOfTrailingZeros(chunkSize);
+        this.chunkMask = chunkSize - 1;
+        
+        long chunkCount = (size >>> chunkShift) + ((size & chunkMask) == 0 ? 0 : 1);
+        if(chunkCount > Integer.MAX_VALUE - 8){
+            throw new IllegalArgumentException("size needs too many chunks, use a larger chunkSize");
+        }
+        this.chunks = new AtomicReferenceArray<>((int)chunkCount);
+    }
+    
+    /**
+     * Gets the size of a chunk of this buffer.
+     *
+     * @return The chunk size
+     * */
+    public long getChunkSize(){
+        return chunkSize;
+    }
+    
+    /**
+     * Gets the amount of memory that has been allocated for chunks so
+     * far.
+     *
+     * @return The allocated memory in bytes
+     * */
+    public long getAllocatedSize(){
+        long allocated = 0;
+        for(int i = 0; i < chunks.length(); i++){
+            if(chunks.get(i) != null){
+                allocated += chunkSize;
+            }
+        }
+        return allocated;
+    }
+    
+    /**
+     * Gets a chunk for reading.
+     *
+     * @return The chunk or null if it was never written
+     * */
+    private LargeByteBuffer readChunk(long offset){
+        return chunks.get((int)(offset >>> chunkShift));
+    }
+    
+    /**
+     * Gets a chunk for writing, allocating it if required.
+     *
+     * @return The chunk
+     * */
+    private LargeByteBuffer writeChunk(long offset){
+        int index = (int)(offset >>> chunkShift);
+        LargeByteBuffer chunk = chunks.get(index);
+        if(chunk == null){
+            chunk = allocateChunk(index);
+        }
+        return chunk;
+    }
+    
+    private synchronized LargeByteBuffer allocateChunk(int index){
+        LargeByteBuffer chunk = chunks.get(index);
+        if(chunk == null){
+            if(isFreed()){
+                throw new IllegalStateException("buffer has been freed");
+            }
+            long pointer = Allocator.allocate(chunkSize, true);
+            chunk = Allocator.wrap(chunkSize, pointer, ()->Allocator.free(pointer));
+            chunk.setByteOrder(ByteOrder.nativeOrder());
+            chunks.set(index, chunk);
+        }
+        return chunk;
+    }
+    
+    /**
+     * Checks if a value at an offset fits inside of a single chunk.
+     * */
+    private boolean isInChunk(long offset, int bytes){
+        return (offset & chunkMask) <= chunkSize - bytes;
+    }
+    
+    /**
+     * Reads a value that crosses into the next chunk a byte at a time.
+     *
+     * @return The value in native order
+     * */
+    private long getSplit(long offset, int bytes){
+        long value = 0;
+        for(int i = 0; i < bytes; i++){
+            value = (value << 8) | (getByte(offset + i) & 0xFFL);
+        }
+        return NATIVE_BIG_ENDIAN ? value : Long.reverseBytes(value) >> (64 - bytes * 8);
+    }
+    
+    /**
+     * Writes a value in native order that crosses into the next chunk a
+     * byte at a time.
+     * */
+    private void putSplit(long value, long offset, int bytes){
+        long big = NATIVE_BIG_ENDIAN ? value : Long.reverseBytes(value) >>> (64 - bytes * 8);
+        for(int i = bytes - 1; i >= 0; i--){
+            putByte((byte)big, offset + i);
+            big >>>= 8;
+        }
+    }
+    
+    @Override
+    public byte getByte(long offset){
+        checkCapacityRead(offset, Byte.BYTES);
+        LargeByteBuffer chunk = readChunk(offset);
+        return chunk == null ? 0 : chunk.getByte(offset & chunkMask);
+    }
+    
+    @Override
+    public short getShort(long offset){
+        checkCapacityRead(offset, Short.BYTES);
+        short value;
+        if(isInChunk(offset, Short.BYTES)){
+            LargeByteBuffer chunk = readChunk(offset);
+            value = chunk == null ? 0 : chunk.getShort(offset & chunkMask);
+        }else{
+            value = (short)getSplit(offset, Short.BYTES);
+        }
+        return isByteOrderNative() ? value : Short.reverseBytes(value);
+    }
+    
+    @Override
+    public int getInt(long offset){
+        checkCapacityRead(offset, Integer.BYTES);
+        int value;
+        if(isInChunk(offset, Integer.BYTES)){
+            LargeByteBuffer chunk = readChunk(offset);
+            value = chunk == null ? 0 : chunk.getInt(offset & chunkMask);
+        }else{
+            value = (int)getSplit(offset, Integer.BYTES);
+        }
+        return isByteOrderNative() ? value : Integer.reverseBytes(value);
+    }
+    
+    @Override
+    public long getLong(long offset){
+        checkCapacityRead(offset, Long.BYTES);
+        long value;
+        if(isInChunk(offset, Long.BYTES)){
+            LargeByteBuffer chunk = readChunk(offset);
+            value = chunk == null ? 0 : chunk.getLong(offset & chunkMask);
+        }else{
+            value = getSplit(offset, Long.BYTES);
+        }
+        return isByteOrderNative() ? value : Long.reverseBytes(value);
+    }
+    
+    @Override
+    public void putByte(byte value, long offset){
+        checkCapacityWrite(offset, Byte.BYTES);
+        writeChunk(offset).putByte(value, offset & chunkMask);
+    }
+    
+    @Override
+    public void putShort(short value, long offset){
+        checkCapacityWrite(offset, Short.BYTES);
+        if(!isByteOrderNative()){
+            value = Short.reverseBytes(value);
+        }
+        if(isInChunk(offset, Short.BYTES)){
+            writeChunk(offset).putShort(value, offset & chunkMask);
+        }else{
+            putSplit(value, offset, Short.BYTES);
+        }
+    }
+    
+    @Override
+    public void putInt(int value, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        if(!isByteOrderNative()){
+            value = Integer.reverseBytes(value);
+        }
+        if(isInChunk(offset, Integer.BYTES)){
+            writeChunk(offset).putInt(value, offset & chunkMask);
+        }else{
+            putSplit(value, offset, Integer.BYTES);
+        }
+    }
+    
+    @Override
+    public void putLong(long value, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        if(!isByteOrderNative()){
+            value = Long.reverseBytes(value);
+        }
+        if(isInChunk(offset, Long.BYTES)){
+            writeChunk(offset).putLong(value, offset & chunkMask);
+        }else{
+            putSplit(value, offset, Long.BYTES);
+        }
+    }
+    
+    // Aligned values never cross a chunk, the chunk checks the alignment
+    @Override
+    protected int getIntVolatileRaw(long offset){
+        checkCapacityRead(offset, Integer.BYTES);
+        LargeByteBuffer chunk = readChunk(offset);
+        return chunk == null ? 0 : chunk.getIntVolatile(offset & chunkMask);
+    }
+    
+    @Override
+    protected void putIntVolatileRaw(int value, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        writeChunk(offset).putIntVolatile(value, offset & chunkMask);
+    }
+    
+    @Override
+    protected void putIntReleaseRaw(int value, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        writeChunk(offset).putIntRelease(value, offset & chunkMask);
+    }
+    
+    @Override
+    protected boolean compareAndSetIntRaw(int expected, int value, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        return writeChunk(offset).compareAndSetInt(expected, value, offset & chunkMask);
+    }
+    
+    @Override
+    protected int getAndAddIntRaw(int delta, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        return writeChunk(offset).getAndAddInt(delta, offset & chunkMask);
+    }
+    
+    @Override
+    protected int getAndSetIntRaw(int value, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        return writeChunk(offset).getAndSetInt(value, offset & chunkMask);
+    }
+    
+    @Override
+    protected long getLongVolatileRaw(long offset){
+        checkCapacityRead(offset, Long.BYTES);
+        LargeByteBuffer chunk = readChunk(offset);
+        return chunk == null ? 0 : chunk.getLongVolatile(offset & chunkMask);
+    }
+    
+    @Override
+    protected void putLongVolatileRaw(long value, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        writeChunk(offset).putLongVolatile(value, offset & chunkMask);
+    }
+    
+    @Override
+    protected void putLongReleaseRaw(long value, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        writeChunk(offset).putLongRelease(value, offset & chunkMask);
+    }
+    
+    @Override
+    protected boolean compareAndSetLongRaw(long expected, long value, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        return writeChunk(offset).compareAndSetLong(expected, value, offset & chunkMask);
+    }
+    
+    @Override
+    protected long getAndAddLongRaw(long delta, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        return writeChunk(offset).getAndAddLong(delta, offset & chunkMask);
+    }
+    
+    @Override
+    protected long getAndSetLongRaw(long value, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        return writeChunk(offset).getAndSetLong(value, offset & chunkMask);
+    }
+    
+    @Override
+    public void getBytes(byte[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityRead(pointer, length);
+        while(length > 0){
+            int count = (int)Math.min(length, chunkSize - (pointer & chunkMask));
+            LargeByteBuffer chunk = readChunk(pointer);
+            if(chunk == null){
+                Arrays.fill(values, offset, offset + count, (byte)0);
+            }else{
+                chunk.getBytes(values, offset, count, pointer & chunkMask);
+            }
+            offset += count;
+            length -= count;
+            pointer += count;
+        }
+    }
+    
+    @Override
+    public void putBytes(byte[] values, int offset, int length, long pointer){
+        if(values == null){
+            throw new NullPointerException("values");
+        }
+        checkArrayRange(values.length, offset, length);
+        checkCapacityWrite(pointer, length);
+        while(length > 0){
+            int count = (int)Math.min(length, chunkSize - (pointer & chunkMask));
+            writeChunk(pointer).putBytes(values, offset, count, pointer & chunkMask);
+            offset += count;
+            length -= count;
+            pointer += count;
+        }
+    }
+    
+    // Zero fills skip chunks that were never written, they read as zeros
+    //  already and would be allocated for nothing.
+    @Override
+    public void fill(long offset, long length, byte value){
+        checkCapacityWrite(offset, length);
+        while(length > 0){
+            long count = Math.min(length, chunkSize - (offset & chunkMask));
+            LargeByteBuffer chunk = value == 0 ? readChunk(offset) : writeChunk(offset);
+            if(chunk != null){
+                chunk.fill(offset & chunkMask, count, value);
+            }
+            length -= count;
+            offset += count;
+        }
+    }
+    
+    @Override
+    public long readFrom(FileChannel channel, long filePosition, long offset, long length) throws IOException{
+        if(channel == null){
+            throw new NullPointerException("channel");
+        }
+        checkCapacityWrite(offset, length);
+        long total = 0;
+        while(total < length){
+            long pointer = offset + total;
+            long count = Math.min(length - total, chunkSize - (pointer & chunkMask));
+            // Do not allocate a chunk for a read that would not return anything
+            if(readChunk(pointer) == null && filePosition + total >= channel.size()){
+                break;
+            }
+            long read = writeChunk(pointer).readFrom(channel, filePosition + total, pointer & chunkMask, count);
+            total += read;
+            if(read < count){
+                break;
+            }
+        }
+        return total;
+    }
+    
+    @Override
+    public void writeTo(FileChannel channel, long filePosition, long offset, long length) throws IOException{
+        if(channel == null){
+            throw new NullPointerException("channel");
+        }
+        checkCapacityRead(offset, length);
+        long total = 0;
+        while(total < length){
+            long pointer = offset + total;
+            long count = Math.min(length - total, chunkSize - (pointer & chunkMask));
+            LargeByteBuffer chunk = readChunk(pointer);
+            if(chunk != null){
+                chunk.writeTo(channel, filePosition + total, pointer & chunkMask, count);
+            }else{
+                for(long written = 0; written < count;){
+                    ByteBuffer zeros = ZEROS.duplicate();
+                    zeros.limit((int)Math.min(zeros.capacity(), count - written));
+                    while(zeros.hasRemaining()){
+                        written += channel.write(zeros, filePosition + total + written);
+                    }
+                }
+            }
+            total += count;
+        }
+    }
+    
+    /**
+     * Frees every chunk right away. Any later access to the buffer will
+     * throw an {@link java.lang.IllegalStateException IllegalStateException}.
+     * */
+    @Override
+    public void close(){
+        synchronized(this){
+            if(isFreed()){
+                return;
+            }
+            invalidate();
+        }
+        for(int i = 0; i < chunks.length(); i++){
+            LargeByteBuffer chunk = chunks.getAndSet(i, null);
+            if(chunk != null){
+                chunk.close();
+            }
+        }
+    }
+}
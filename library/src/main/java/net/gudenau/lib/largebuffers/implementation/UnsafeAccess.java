@@ -0,0 +1,64 @@
+package net.gudenau.lib.largebuffers.implementation;
+
+import java.lang.reflect.Field;
+import sun.misc.Unsafe;
+
+/**
+ * Holds the {@link sun.misc.Unsafe Unsafe} instance used to access
+ * native memory without a JNI transition.
+ * */
+final class UnsafeAccess{
+    /**
+     * Set this system property to true to disable the use of Unsafe.
+     * */
+    private static final String DISABLE_PROPERTY = "net.gudenau.lib.largebuffers.disableUnsafe";
+    
+    /**
+     * The Unsafe instance, or null if it is not usable on this JVM.
+     * */
+    static final Unsafe UNSAFE = getUnsafe();
+    
+    private UnsafeAccess(){}
+    
+    /**
+     * Checks if Unsafe can be used for memory access.
+     *
+     * @return True if Unsafe is usable
+     * */
+    static boolean isAvailable(){
+        return UNSAFE != null;
+    }
+    
+    private static Unsafe getUnsafe(){
+        if(Boolean.getBoolean(DISABLE_PROPERTY) || !isUnalignedAccessSupported()){
+            return null;
+        }
+        try{
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Unsafe unsafe = (Unsafe)field.get(null);
+            // We pass raw pointers as longs, make sure they fit
+            if(unsafe.addressSize() > Long.BYTES){
+                return null;
+            }
+            return unsafe;
+        }catch(ReflectiveOperationException | RuntimeException e){
+            return null;
+        }
+    }
+    
+    /**
+     * The buffers do not align their accesses, only use Unsafe on
+     * architectures where unaligned loads and stores are safe.
+     * */
+    private static boolean isUnalignedAccessSupported(){
+        String arch = System.getProperty("os.arch");
+        return arch.equals("amd64") ||
+            arch.equals("x86_64") ||
+            arch.equals("x86") ||
+            arch.equals("i386") ||
+            arch.equals("aarch64") ||
+            arch.equals("ppc64le") ||
+            arch.equals("s390x");
+    }
+}
@@ -0,0 +1,336 @@
+package net.gudenau.lib.largebuffers.implementation;
+
+import sun.misc.Unsafe;
+
+import static net.gudenau.lib.largebuffers.implementation.UnsafeAccess.UNSAFE;
+
+/**
+ * A {@link net.gudenau.lib.largebuffers.implementation.DirectLargeByteBuffer}
+ * that reads and writes the native memory with {@link sun.misc.Unsafe Unsafe}
+ * instead of JNI, allowing the JIT to inline every access.
+ *
+ * Memory is allocated, copied and freed with Unsafe as well so this
+ * implementation never needs to load the native library. When the
+ * library is available it is used for zeroed allocations and byte
+ * swapping copies, which are faster natively.
+ * */
+public class UnsafeLargeByteBuffer extends DirectLargeByteBuffer{
+    /**
+     * Large copies are split into chunks of this size so the thread
+     * can reach a safepoint between them, the same threshold
+     * {@link java.nio.ByteBuffer ByteBuffer} uses.
+     * */
+    private static final long COPY_THRESHOLD = 1024 * 1024;
+    
+    public UnsafeLargeByteBuffer(long size){
+        this(size, true);
+    }
+    
+    /**
+     * Allocates a new buffer.
+     *
+     * @param size The size of the buffer
+     * @param zero True to fill the memory with zeros, false to leave
+     *             whatever the allocator returned
+     * */
+    public UnsafeLargeByteBuffer(long size, boolean zero){
+        this(size, allocate(size, zero), zero);
+    }
+    
+    private UnsafeLargeByteBuffer(long size, long pointer, boolean zero){
+        super(size, pointer, isNativeAllocation(zero) ?
+            ()->NativeMethods.freeMemory(pointer) :
+            ()->UNSAFE.freeMemory(pointer)
+        );
+    }
+    
+    UnsafeLargeByteBuffer(long size, long pointer, Runnable free, boolean mapped, boolean readOnly){
+        super(size, pointer, free, mapped, readOnly);
+    }
+    
+    UnsafeLargeByteBuffer(long size, long pointer, Deallocator deallocator, boolean mapped, boolean readOnly){
+        super(size, pointer, deallocator, mapped, readOnly);
+    }
+    
+    private UnsafeLargeByteBuffer(long size, long pointer, UnsafeLargeByteBuffer parent, boolean tracked){
+        super(size, pointer, parent, tracked);
+    }
+    
+    private static long allocate(long size, boolean zero){
+        if(!UnsafeAccess.isAvailable()){
+            throw new UnsupportedOperationException("Unsafe is not available");
+        }
+        if(size < 0){
+            throw new IllegalArgumentException("size does not fit inside native size");
+        }
+        if(isNativeAllocation(zero)){
+            return NativeMethods.allocateZeroedMemory(size);
+        }
+        long pointer = UNSAFE.allocateMemory(size);
+        if(zero){
+            Allocator.fill(pointer, size, (byte)0x00);
+        }
+        return pointer;
+    }
+    
+    /**
+     * Zeroed memory comes from calloc when the native library is
+     * available, Unsafe can only zero it by writing every byte.
+     * */
+    private static boolean isNativeAllocation(boolean zero){
+        return zero && Natives.AVAILABLE;
+    }
+    
+    /**
+     * Checks if this implementation can be used on the current JVM.
+     *
+     * @return True if Unsafe is available
+     * */
+    public static boolean isSupported(){
+        return UnsafeAccess.isAvailable();
+    }
+    
+    @Override
+    DirectLargeByteBuffer createView(long size, long pointer, boolean tracked){
+        return new UnsafeLargeByteBuffer(size, pointer, this, tracked);
+    }
+    
+    @Override
+    public byte getByte(long offset){
+        checkCapacityRead(offset, Byte.BYTES);
+        return UNSAFE.getByte(pointer + offset);
+    }
+    
+    @Override
+    public short getShort(long offset){
+        checkCapacityRead(offset, Short.BYTES);
+        short value = UNSAFE.getShort(pointer + offset);
+        return isByteOrderNative() ? value : Short.reverseBytes(value);
+    }
+    
+    @Override
+    public int getInt(long offset){
+        checkCapacityRead(offset, Integer.BYTES);
+        int value = UNSAFE.getInt(pointer + offset);
+        return isByteOrderNative() ? value : Integer.reverseBytes(value);
+    }
+    
+    @Override
+    public long getLong(long offset){
+        checkCapacityRead(offset, Long.BYTES);
+        long value = UNSAFE.getLong(pointer + offset);
+        return isByteOrderNative() ? value : Long.reverseBytes(value);
+    }
+    
+    @Override
+    public void putByte(byte value, long offset){
+        checkCapacityWrite(offset, Byte.BYTES);
+        UNSAFE.putByte(pointer + offset, value);
+    }
+    
+    @Override
+    public void putShort(short value, long offset){
+        checkCapacityWrite(offset, Short.BYTES);
+        UNSAFE.putShort(
+            pointer + offset,
+            isByteOrderNative() ? value : Short.reverseBytes(value)
+        );
+    }
+    
+    @Override
+    public void putInt(int value, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        UNSAFE.putInt(
+            pointer + offset,
+            isByteOrderNative() ? value : Integer.reverseBytes(value)
+        );
+    }
+    
+    @Override
+    public void putLong(long value, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        UNSAFE.putLong(
+            pointer + offset,
+            isByteOrderNative() ? value : Long.reverseBytes(value)
+        );
+    }
+    
+    @Override
+    protected int getIntRaw(long offset){
+        checkCapacityRead(offset, Integer.BYTES);
+        return UNSAFE.getInt(pointer + offset);
+    }
+    
+    @Override
+    protected void putIntRaw(int value, long offset){
+        checkCapacityWrite(offset, Integer.BYTES);
+        UNSAFE.putInt(pointer + offset, value);
+    }
+    
+    @Override
+    protected long getLongRaw(long offset){
+        checkCapacityRead(offset, Long.BYTES);
+        return UNSAFE.getLong(pointer + offset);
+    }
+    
+    @Override
+    protected void putLongRaw(long value, long offset){
+        checkCapacityWrite(offset, Long.BYTES);
+        UNSAFE.putLong(pointer + offset, value);
+    }
+    
+    @Override
+    protected int getIntVolatileRaw(long offset){
+        return UNSAFE.getIntVolatile(null, atomicAddress(offset, Integer.BYTES, false));
+    }
+    
+    @Override
+    protected void putIntVolatileRaw(int value, long offset){
+        UNSAFE.putIntVolatile(null, atomicAddress(offset, Integer.BYTES, true), value);
+    }
+    
+    @Override
+    protected void putIntReleaseRaw(int value, long offset){
+        UNSAFE.putOrderedInt(null, atomicAddress(offset, Integer.BYTES, true), value);
+    }
+    
+    @Override
+    protected boolean compareAndSetIntRaw(int expected, int value, long offset){
+        return UNSAFE.compareAndSwapInt(null, atomicAddress(offset, Integer.BYTES, true), expected, value);
+    }
+    
+    @Override
+    protected int getAndAddIntRaw(int delta, long offset){
+        return UNSAFE.getAndAddInt(null, atomicAddress(offset, Integer.BYTES, true), delta);
+    }
+    
+    @Override
+    protected int getAndSetIntRaw(int value, long offset){
+        return UNSAFE.getAndSetInt(null, atomicAddress(offset, Integer.BYTES, true), value);
+    }
+    
+    @Override
+    protected long getLongVolatileRaw(long offset){
+        return UNSAFE.getLongVolatile(null, atomicAddress(offset, Long.BYTES, false));
+    }
+    
+    @Override
+    protected void putLongVolatileRaw(long value, long offset){
+        UNSAFE.putLongVolatile(null, atomicAddress(offset, Long.BYTES, true), value);
+    }
+    
+    @Override
+    protected void putLongReleaseRaw(long value, long offset){
+        UNSAFE.putOrderedLong(null, atomicAddress(offset, Long.BYTES, true), value);
+    }
+    
+    @Override
+    protected boolean compareAndSetLongRaw(long expected, long value, long offset){
+        return UNSAFE.compareAndSwapLong(null, atomicAddress(offset, Long.BYTES, true), expected, value);
+    }
+    
+    @Override
+    protected long getAndAddLongRaw(long delta, long offset){
+        return UNSAFE.getAndAddLong(null, atomicAddress(offset, Long.BYTES, true), delta);
+    }
+    
+    @Override
+    protected long getAndSetLongRaw(long value, long offset){
+        return UNSAFE.getAndSetLong(null, atomicAddress(offset, Long.BYTES, true), value);
+    }
+    
+    @Override
+    void copyToArray(long source, Object dest, long offset, long size){
+        offset += arrayBaseOffset(dest);
+        while(size > 0){
+            long chunk = Math.min(size, COPY_THRESHOLD);
+            UNSAFE.copyMemory(null, source, dest, offset, chunk);
+            source += chunk;
+            offset += chunk;
+            size -= chunk;
+        }
+    }
+    
+    @Override
+    void copyFromArray(Object source, long offset, long dest, long size){
+        offset += arrayBaseOffset(source);
+        while(size > 0){
+            long chunk = Math.min(size, COPY_THRESHOLD);
+            UNSAFE.copyMemory(source, offset, null, dest, chunk);
+            offset += chunk;
+            dest += chunk;
+            size -= chunk;
+        }
+    }
+    
+    @Override
+    void copyToArraySwapped(long source, Object dest, long offset, long size, int width){
+        if(Natives.AVAILABLE){
+            super.copyToArraySwapped(source, dest, offset, size, width);
+            return;
+        }
+        offset += arrayBaseOffset(dest);
+        for(long i = 0; i < size; i += width){
+            switch(width){
+                case Short.BYTES: UNSAFE.putShort(dest, offset + i, Short.reverseBytes(UNSAFE.getShort(source + i))); break;
+                case Integer.BYTES: UNSAFE.putInt(dest, offset + i, Integer.reverseBytes(UNSAFE.getInt(source + i))); break;
+                case Long.BYTES: UNSAFE.putLong(dest, offset + i, Long.reverseBytes(UNSAFE.getLong(source + i))); break;
+                default: throw new IllegalArgumentException("width must be 2, 4 or 8");
+            }
+        }
+    }
+    
+    @Override
+    void copyFromArraySwapped(Object source, long offset, long dest, long size, int width){
+        if(Natives.AVAILABLE){
+            super.copyFromArraySwapped(source, offset, dest, size, width);
+            return;
+        }
+        offset += arrayBaseOffset(source);
+        for(long i = 0; i < size; i += width){
+            switch(width){
+                case Short.BYTES: UNSAFE.putShort(dest + i, Short.reverseBytes(UNSAFE.getShort(source, offset + i))); break;
+                case Integer.BYTES: UNSAFE.putInt(dest + i, Integer.reverseBytes(UNSAFE.getInt(source, offset + i))); break;
+                case Long.BYTES: UNSAFE.putLong(dest + i, Long.reverseBytes(UNSAFE.getLong(source, offset + i))); break;
+                default: throw new IllegalArgumentException("width must be 2, 4 or 8");
+            }
+        }
+    }
+    
+    @Override
+    void copyToBooleanArray(long source, boolean[] dest, int offset, int length){
+        for(int i = 0; i < length; i++){
+            dest[offset + i] = UNSAFE.getByte(source + i) != 0;
+        }
+    }
+    
+    /**
+     * Some operations are faster in native code, but this implementation
+     * has to keep working when the native library can not be loaded.
+     * This is only checked the first time such an operation is used.
+     * */
+    private static final class Natives{
+        static final boolean AVAILABLE = Library.isAvailable();
+    }
+    
+    private static long arrayBaseOffset(Object array){
+        if(array instanceof byte[]){
+            return Unsafe.ARRAY_BYTE_BASE_OFFSET;
+        }else if(array instanceof short[]){
+            return Unsafe.ARRAY_SHORT_BASE_OFFSET;
+        }else if(array instanceof char[]){
+            return Unsafe.ARRAY_CHAR_BASE_OFFSET;
+        }else if(array instanceof int[]){
+            return Unsafe.ARRAY_INT_BASE_OFFSET;
+        }else if(array instanceof float[]){
+            return Unsafe.ARRAY_FLOAT_BASE_OFFSET;
+        }else if(array instanceof long[]){
+            return Unsafe.ARRAY_LONG_BASE_OFFSET;
+        }else if(array instanceof double[]){
+            return Unsafe.ARRAY_DOUBLE_BASE_OFFSET;
+        }else if(array instanceof boolean[]){
+            return Unsafe.ARRAY_BOOLEAN_BASE_OFFSET;
+        }
+        throw new IllegalArgumentException("array was not a primitive array");
+    }
+}
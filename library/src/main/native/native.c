@@ -0,0 +1,728 @@
+#define _FILE_OFFSET_BITS 64
+
+#include <jni.h>
+
+#include <errno.h>
+#include <malloc.h>
+#include <stdint.h>
+#include <stdio.h>
+#include <string.h>
+
+// Memory mapping is POSIX only, on Windows the mapping functions throw and
+// the Java side never calls them.
+#ifndef _WIN32
+#include <fcntl.h>
+#include <sys/mman.h>
+#include <sys/stat.h>
+#include <unistd.h>
+#endif
+
+#include "net_gudenau_lib_largebuffers_implementation_NativeMethods.h"
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAddressSize
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAddressSize
+  (JNIEnv* env, jclass klass){
+   return (jint)(sizeof(void*));
+}
+
+#ifdef _WIN32
+static void throwUnsupported(JNIEnv* env){
+   jclass exception = (*env)->FindClass(env, "java/lang/UnsupportedOperationException");
+   if(exception != NULL){
+      (*env)->ThrowNew(env, exception, "memory mapping is not supported on Windows");
+   }
+}
+#endif
+
+static void throwIOException(JNIEnv* env, const char* message, int error){
+   char buffer[256];
+   snprintf(buffer, sizeof(buffer), "%s: %s", message, strerror(error));
+   jclass exception = (*env)->FindClass(env, "java/io/IOException");
+   if(exception != NULL){
+      (*env)->ThrowNew(env, exception, buffer);
+   }
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetPageSize
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetPageSize
+  (JNIEnv* env, jclass klass){
+#ifdef _WIN32
+   // Only used by the mapping code
+   return 4096;
+#else
+   return (jlong)sysconf(_SC_PAGESIZE);
+#endif
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetHugePageSize
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetHugePageSize
+  (JNIEnv* env, jclass klass){
+   unsigned long size = 0;
+   FILE* file = fopen("/sys/kernel/mm/transparent_hugepage/hpage_pmd_size", "r");
+   if(file != NULL){
+      if(fscanf(file, "%lu", &size) != 1){
+         size = 0;
+      }
+      fclose(file);
+   }
+   // Not exposed by older kernels, 2MiB is the PMD size on x86 and on
+   // arm64 with 4KiB pages.
+   if(size == 0 || (size & (size - 1)) != 0){
+      size = 2 * 1024 * 1024;
+   }
+   return (jlong)size;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doAllocateMemory
+ * Signature: (J)I
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doAllocateMemory
+  (JNIEnv* env, jclass klass, jlong size){
+   return (jlong)malloc((size_t)size);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doAllocateZeroedMemory
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doAllocateZeroedMemory
+  (JNIEnv* env, jclass klass, jlong size){
+   // Large callocs are served by fresh anonymous mappings, which the kernel
+   // zeros on first touch, so the memory is neither written nor committed here.
+   return (jlong)calloc(1, (size_t)size);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doFreeMemory
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doFreeMemory
+  (JNIEnv* env, jclass klass, jlong pointer){
+   free((void*)pointer);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doMapFile
+ * Signature: (Ljava/lang/String;IJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doMapFile
+  (JNIEnv* env, jclass klass, jstring path, jint mode, jlong offset, jlong size){
+#ifdef _WIN32
+   throwUnsupported(env);
+   return 0;
+#else
+   const char* file = (*env)->GetStringUTFChars(env, path, NULL);
+   if(file == NULL){
+      return 0;
+   }
+   int writable = mode == net_gudenau_lib_largebuffers_implementation_NativeMethods_MAP_READ_WRITE;
+   int fd = open(file, (writable ? O_RDWR : O_RDONLY) | O_CLOEXEC);
+   int error = errno;
+   (*env)->ReleaseStringUTFChars(env, path, file);
+   if(fd == -1){
+      throwIOException(env, "Failed to open file", error);
+      return 0;
+   }
+   
+   // Touching a page past the end of the file raises SIGBUS, so make sure
+   // the whole region is backed by the file.
+   struct stat info;
+   if(fstat(fd, &info) == -1){
+      error = errno;
+      close(fd);
+      throwIOException(env, "Failed to stat file", error);
+      return 0;
+   }
+   off_t end = (off_t)(offset + size);
+   if(info.st_size < end){
+      if(!writable){
+         close(fd);
+         throwIOException(env, "Region is past the end of the file", EINVAL);
+         return 0;
+      }
+      if(ftruncate(fd, end) == -1){
+         error = errno;
+         close(fd);
+         throwIOException(env, "Failed to grow file", error);
+         return 0;
+      }
+   }
+   
+   int protection = mode == net_gudenau_lib_largebuffers_implementation_NativeMethods_MAP_READ_ONLY ?
+      PROT_READ : PROT_READ | PROT_WRITE;
+   int flags = mode == net_gudenau_lib_largebuffers_implementation_NativeMethods_MAP_PRIVATE ?
+      MAP_PRIVATE : MAP_SHARED;
+   void* pointer = mmap(NULL, (size_t)size, protection, flags, fd, (off_t)offset);
+   error = errno;
+   close(fd);
+   if(pointer == MAP_FAILED){
+      throwIOException(env, "Failed to map file", error);
+      return 0;
+   }
+   return (jlong)pointer;
+#endif
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doMapAnonymous
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doMapAnonymous
+  (JNIEnv* env, jclass klass, jlong size, jlong alignment){
+#ifdef _WIN32
+   throwUnsupported(env);
+   return 0;
+#else
+   uintptr_t align = (uintptr_t)alignment;
+   size_t length = (size_t)size;
+   // mmap only promises page alignment, so reserve enough extra to find an
+   // aligned start and hand the unused ends back.
+   size_t reserved = length + align;
+   if(reserved < length){
+      return 0;
+   }
+   void* pointer = mmap(NULL, reserved, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS, -1, 0);
+   if(pointer == MAP_FAILED){
+      return 0;
+   }
+   uintptr_t page = (uintptr_t)sysconf(_SC_PAGESIZE);
+   uintptr_t start = ((uintptr_t)pointer + align - 1) & ~(align - 1);
+   uintptr_t end = start + ((length + page - 1) & ~(page - 1));
+   uintptr_t reservedEnd = (uintptr_t)pointer + reserved;
+   if(start > (uintptr_t)pointer){
+      munmap(pointer, start - (uintptr_t)pointer);
+   }
+   if(end < reservedEnd){
+      munmap((void*)end, reservedEnd - end);
+   }
+   return (jlong)start;
+#endif
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doReserveMemory
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doReserveMemory
+  (JNIEnv* env, jclass klass, jlong size){
+#ifdef _WIN32
+   throwUnsupported(env);
+   return 0;
+#else
+   // Inaccessible and not counted against the commit limit until parts of
+   // it are committed.
+   void* pointer = mmap(NULL, (size_t)size, PROT_NONE, MAP_PRIVATE | MAP_ANONYMOUS | MAP_NORESERVE, -1, 0);
+   return pointer == MAP_FAILED ? 0 : (jlong)pointer;
+#endif
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCommitMemory
+ * Signature: (JJ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCommitMemory
+  (JNIEnv* env, jclass klass, jlong pointer, jlong size){
+#ifdef _WIN32
+   throwUnsupported(env);
+   return JNI_FALSE;
+#else
+   return mprotect((void*)pointer, (size_t)size, PROT_READ | PROT_WRITE) == 0 ? JNI_TRUE : JNI_FALSE;
+#endif
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doUnmapMemory
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doUnmapMemory
+  (JNIEnv* env, jclass klass, jlong pointer, jlong size){
+#ifdef _WIN32
+   throwUnsupported(env);
+   return;
+#else
+   munmap((void*)pointer, (size_t)size);
+#endif
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doSyncMemory
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doSyncMemory
+  (JNIEnv* env, jclass klass, jlong pointer, jlong size){
+#ifdef _WIN32
+   throwUnsupported(env);
+   return;
+#else
+   uintptr_t page = (uintptr_t)sysconf(_SC_PAGESIZE);
+   uintptr_t start = (uintptr_t)pointer & ~(page - 1);
+   uintptr_t end = (uintptr_t)pointer + (uintptr_t)size;
+   if(msync((void*)start, (size_t)(end - start), MS_SYNC) == -1){
+      throwIOException(env, "Failed to sync memory", errno);
+   }
+#endif
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doAdviseMemory
+ * Signature: (JJI)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doAdviseMemory
+  (JNIEnv* env, jclass klass, jlong pointer, jlong size, jint advice){
+#ifdef _WIN32
+   throwUnsupported(env);
+   return JNI_FALSE;
+#else
+   int value;
+   switch(advice){
+      case net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_NORMAL: value = MADV_NORMAL; break;
+      case net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_SEQUENTIAL: value = MADV_SEQUENTIAL; break;
+      case net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_RANDOM: value = MADV_RANDOM; break;
+      case net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_WILLNEED: value = MADV_WILLNEED; break;
+      case net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_DONTNEED: value = MADV_DONTNEED; break;
+#ifdef MADV_HUGEPAGE
+      case net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_HUGEPAGE: value = MADV_HUGEPAGE; break;
+#endif
+      default: return JNI_FALSE;
+   }
+   
+   uintptr_t page = (uintptr_t)sysconf(_SC_PAGESIZE);
+   uintptr_t start;
+   uintptr_t end;
+   if(value == MADV_DONTNEED){
+      // Dropping a page discards its contents, never touch memory outside
+      // of the region.
+      start = ((uintptr_t)pointer + page - 1) & ~(page - 1);
+      end = ((uintptr_t)pointer + (uintptr_t)size) & ~(page - 1);
+   }else{
+      start = (uintptr_t)pointer & ~(page - 1);
+      end = (uintptr_t)pointer + (uintptr_t)size;
+   }
+   if(end <= start){
+      return JNI_TRUE;
+   }
+   return madvise((void*)start, (size_t)(end - start), value) == 0 ? JNI_TRUE : JNI_FALSE;
+#endif
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doNewDirectByteBuffer
+ * Signature: (JI)Ljava/nio/ByteBuffer;
+ */
+JNIEXPORT jobject JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doNewDirectByteBuffer
+  (JNIEnv* env, jclass klass, jlong pointer, jint size){
+   return (*env)->NewDirectByteBuffer(env, (void*)pointer, (jlong)size);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    domemset
+ * Signature: (JBJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_domemset
+  (JNIEnv* env, jclass klass, jlong pointer, jbyte value, jlong size){
+   memset((void*)pointer, (int)value, (size_t)size);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    domemcpy
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_domemcpy
+  (JNIEnv* env, jclass klass, jlong src, jlong dst, jlong size){
+   memmove((void*)dst, (void*)src, (size_t)size);
+}
+
+// memcmp is vectorized by libc, so it is used to find the block with the
+// first difference and only that block is scanned a byte at a time.
+#define MISMATCH_BLOCK 4096
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doMismatch
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doMismatch
+  (JNIEnv* env, jclass klass, jlong pointer, jlong otherPointer, jlong size){
+   const uint8_t* left = (const uint8_t*)pointer;
+   const uint8_t* right = (const uint8_t*)otherPointer;
+   size_t length = (size_t)size;
+   for(size_t offset = 0; offset < length; offset += MISMATCH_BLOCK){
+      size_t block = length - offset < MISMATCH_BLOCK ? length - offset : MISMATCH_BLOCK;
+      if(memcmp(left + offset, right + offset, block) != 0){
+         for(size_t i = 0; i < block; i++){
+            if(left[offset + i] != right[offset + i]){
+               return (jlong)(offset + i);
+            }
+         }
+      }
+   }
+   return -1;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doHashCode
+ * Signature: (JJ)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doHashCode
+  (JNIEnv* env, jclass klass, jlong pointer, jlong size){
+   // Powers of 31, eight bytes are folded in per step so the
+   // multiplications do not depend on each other and vectorize.
+   static const uint32_t powers[8] = {
+      0x67E12CDF, 0x34E63B41, 0x01B4D89F, 0x000E1781,
+      0x0000745F, 0x000003C1, 0x0000001F, 0x00000001
+   };
+   const int8_t* bytes = (const int8_t*)pointer;
+   size_t length = (size_t)size;
+   uint32_t hash = 1;
+   size_t offset = 0;
+   for(; length - offset >= 8; offset += 8){
+      uint32_t block = 0;
+      for(int i = 0; i < 8; i++){
+         block += (uint32_t)(int32_t)bytes[offset + i] * powers[i];
+      }
+      hash = hash * 0x94446F01 + block;
+   }
+   for(; offset < length; offset++){
+      hash = hash * 31 + (uint32_t)(int32_t)bytes[offset];
+   }
+   return (jint)hash;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyToArray
+ * Signature: (JLjava/lang/Object;JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyToArray
+  (JNIEnv* env, jclass klass, jlong src, jobject dst, jlong offset, jlong size){
+   char* array = (char*)(*env)->GetPrimitiveArrayCritical(env, (jarray)dst, NULL);
+   if(array == NULL){
+      return;
+   }
+   memcpy(array + offset, (void*)src, (size_t)size);
+   (*env)->ReleasePrimitiveArrayCritical(env, (jarray)dst, array, 0);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyFromArray
+ * Signature: (Ljava/lang/Object;JJJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyFromArray
+  (JNIEnv* env, jclass klass, jobject src, jlong offset, jlong dst, jlong size){
+   char* array = (char*)(*env)->GetPrimitiveArrayCritical(env, (jarray)src, NULL);
+   if(array == NULL){
+      return;
+   }
+   memcpy((void*)dst, array + offset, (size_t)size);
+   (*env)->ReleasePrimitiveArrayCritical(env, (jarray)src, array, JNI_ABORT);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyToBooleanArray
+ * Signature: (J[ZII)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyToBooleanArray
+  (JNIEnv* env, jclass klass, jlong src, jbooleanArray dst, jint offset, jint length){
+   jboolean* array = (jboolean*)(*env)->GetPrimitiveArrayCritical(env, dst, NULL);
+   if(array == NULL){
+      return;
+   }
+   jbyte* source = (jbyte*)src;
+   for(jint i = 0; i < length; i++){
+      array[offset + i] = source[i] != 0 ? JNI_TRUE : JNI_FALSE;
+   }
+   (*env)->ReleasePrimitiveArrayCritical(env, dst, array, 0);
+}
+
+/*
+ * Copies size bytes from src to dst while reversing the byte order of every
+ * width sized element. The loads and stores go through memcpy so unaligned
+ * pointers are fine, GCC turns these loops into vector shuffles.
+ */
+static void copySwapped(char* restrict dst, const char* restrict src, size_t size, jint width){
+   switch(width){
+      case 2: {
+         for(size_t i = 0; i < size; i += 2){
+            uint16_t value;
+            memcpy(&value, src + i, sizeof(value));
+            value = __builtin_bswap16(value);
+            memcpy(dst + i, &value, sizeof(value));
+         }
+      } break;
+      case 4: {
+         for(size_t i = 0; i < size; i += 4){
+            uint32_t value;
+            memcpy(&value, src + i, sizeof(value));
+            value = __builtin_bswap32(value);
+            memcpy(dst + i, &value, sizeof(value));
+         }
+      } break;
+      case 8: {
+         for(size_t i = 0; i < size; i += 8){
+            uint64_t value;
+            memcpy(&value, src + i, sizeof(value));
+            value = __builtin_bswap64(value);
+            memcpy(dst + i, &value, sizeof(value));
+         }
+      } break;
+   }
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyToArraySwapped
+ * Signature: (JLjava/lang/Object;JJI)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyToArraySwapped
+  (JNIEnv* env, jclass klass, jlong src, jobject dst, jlong offset, jlong size, jint width){
+   char* array = (char*)(*env)->GetPrimitiveArrayCritical(env, (jarray)dst, NULL);
+   if(array == NULL){
+      return;
+   }
+   copySwapped(array + offset, (const char*)src, (size_t)size, width);
+   (*env)->ReleasePrimitiveArrayCritical(env, (jarray)dst, array, 0);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyFromArraySwapped
+ * Signature: (Ljava/lang/Object;JJJI)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyFromArraySwapped
+  (JNIEnv* env, jclass klass, jobject src, jlong offset, jlong dst, jlong size, jint width){
+   char* array = (char*)(*env)->GetPrimitiveArrayCritical(env, (jarray)src, NULL);
+   if(array == NULL){
+      return;
+   }
+   copySwapped((char*)dst, array + offset, (size_t)size, width);
+   (*env)->ReleasePrimitiveArrayCritical(env, (jarray)src, array, JNI_ABORT);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetBoolean
+ * Signature: (J)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetBoolean
+  (JNIEnv* env, jclass klass, jlong pointer){
+   return *((jboolean*)pointer);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetByte
+ * Signature: (J)B
+ */
+JNIEXPORT jbyte JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetByte
+  (JNIEnv* env, jclass klass, jlong pointer){
+   return *((jbyte*)pointer);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetShort
+ * Signature: (J)S
+ */
+JNIEXPORT jshort JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetShort
+  (JNIEnv* env, jclass klass, jlong pointer){
+   return *((jshort*)pointer);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetInt
+ * Signature: (J)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetInt
+  (JNIEnv* env, jclass klass, jlong pointer){
+   return *((jint*)pointer);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetLong
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetLong
+  (JNIEnv* env, jclass klass, jlong pointer){
+   return *((jlong*)pointer);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutBoolean
+ * Signature: (JZ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutBoolean
+  (JNIEnv* env, jclass klass, jlong pointer, jboolean value){
+   *((jboolean*)pointer) = value;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutByte
+ * Signature: (JB)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutByte
+  (JNIEnv* env, jclass klass, jlong pointer, jbyte value){
+   *((jbyte*)pointer) = value;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutShort
+ * Signature: (JS)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutShort
+  (JNIEnv* env, jclass klass, jlong pointer, jshort value){
+   *((jshort*)pointer) = value;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutInt
+ * Signature: (JI)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutInt
+  (JNIEnv* env, jclass klass, jlong pointer, jint value){
+   *((jint*)pointer) = value;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutLong
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutLong
+  (JNIEnv* env, jclass klass, jlong pointer, jlong value){
+   *((jlong*)pointer) = value;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetIntVolatile
+ * Signature: (J)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetIntVolatile
+  (JNIEnv* env, jclass klass, jlong pointer){
+   return __atomic_load_n((jint*)pointer, __ATOMIC_SEQ_CST);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutIntVolatile
+ * Signature: (JI)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutIntVolatile
+  (JNIEnv* env, jclass klass, jlong pointer, jint value){
+   __atomic_store_n((jint*)pointer, value, __ATOMIC_SEQ_CST);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCompareAndSetInt
+ * Signature: (JII)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCompareAndSetInt
+  (JNIEnv* env, jclass klass, jlong pointer, jint expected, jint value){
+   return __atomic_compare_exchange_n((jint*)pointer, &expected, value, 0, __ATOMIC_SEQ_CST, __ATOMIC_SEQ_CST) ? JNI_TRUE : JNI_FALSE;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAndAddInt
+ * Signature: (JI)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAndAddInt
+  (JNIEnv* env, jclass klass, jlong pointer, jint delta){
+   return __atomic_fetch_add((jint*)pointer, delta, __ATOMIC_SEQ_CST);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAndSetInt
+ * Signature: (JI)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAndSetInt
+  (JNIEnv* env, jclass klass, jlong pointer, jint value){
+   return __atomic_exchange_n((jint*)pointer, value, __ATOMIC_SEQ_CST);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetLongVolatile
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetLongVolatile
+  (JNIEnv* env, jclass klass, jlong pointer){
+   return __atomic_load_n((jlong*)pointer, __ATOMIC_SEQ_CST);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutLongVolatile
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutLongVolatile
+  (JNIEnv* env, jclass klass, jlong pointer, jlong value){
+   __atomic_store_n((jlong*)pointer, value, __ATOMIC_SEQ_CST);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCompareAndSetLong
+ * Signature: (JJJ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCompareAndSetLong
+  (JNIEnv* env, jclass klass, jlong pointer, jlong expected, jlong value){
+   return __atomic_compare_exchange_n((jlong*)pointer, &expected, value, 0, __ATOMIC_SEQ_CST, __ATOMIC_SEQ_CST) ? JNI_TRUE : JNI_FALSE;
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAndAddLong
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAndAddLong
+  (JNIEnv* env, jclass klass, jlong pointer, jlong delta){
+   return __atomic_fetch_add((jlong*)pointer, delta, __ATOMIC_SEQ_CST);
+}
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAndSetLong
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAndSetLong
+  (JNIEnv* env, jclass klass, jlong pointer, jlong value){
+   return __atomic_exchange_n((jlong*)pointer, value, __ATOMIC_SEQ_CST);
+}
@@ -0,0 +1,377 @@
+/* DO NOT EDIT THIS FILE - it is machine generated */
+#include <jni.h>
+/* Header for class net_gudenau_lib_largebuffers_implementation_NativeMethods */
+
+#ifndef _Included_net_gudenau_lib_largebuffers_implementation_NativeMethods
+#define _Included_net_gudenau_lib_largebuffers_implementation_NativeMethods
+#ifdef __cplusplus
+extern "C" {
+#endif
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_NULL
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_NULL 0LL
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_MAP_READ_ONLY
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_MAP_READ_ONLY 0L
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_MAP_READ_WRITE
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_MAP_READ_WRITE 1L
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_MAP_PRIVATE
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_MAP_PRIVATE 2L
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_NORMAL
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_NORMAL 0L
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_SEQUENTIAL
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_SEQUENTIAL 1L
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_RANDOM
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_RANDOM 2L
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_WILLNEED
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_WILLNEED 3L
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_DONTNEED
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_DONTNEED 4L
+#undef net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_HUGEPAGE
+#define net_gudenau_lib_largebuffers_implementation_NativeMethods_ADVICE_HUGEPAGE 5L
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAddressSize
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAddressSize
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetPageSize
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetPageSize
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetHugePageSize
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetHugePageSize
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doAllocateMemory
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doAllocateMemory
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doAllocateZeroedMemory
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doAllocateZeroedMemory
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doFreeMemory
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doFreeMemory
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doMapFile
+ * Signature: (Ljava/lang/String;IJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doMapFile
+  (JNIEnv *, jclass, jstring, jint, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doMapAnonymous
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doMapAnonymous
+  (JNIEnv *, jclass, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doReserveMemory
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doReserveMemory
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCommitMemory
+ * Signature: (JJ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCommitMemory
+  (JNIEnv *, jclass, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doUnmapMemory
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doUnmapMemory
+  (JNIEnv *, jclass, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doSyncMemory
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doSyncMemory
+  (JNIEnv *, jclass, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doAdviseMemory
+ * Signature: (JJI)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doAdviseMemory
+  (JNIEnv *, jclass, jlong, jlong, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doNewDirectByteBuffer
+ * Signature: (JI)Ljava/nio/ByteBuffer;
+ */
+JNIEXPORT jobject JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doNewDirectByteBuffer
+  (JNIEnv *, jclass, jlong, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    domemset
+ * Signature: (JBJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_domemset
+  (JNIEnv *, jclass, jlong, jbyte, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    domemcpy
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_domemcpy
+  (JNIEnv *, jclass, jlong, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doMismatch
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doMismatch
+  (JNIEnv *, jclass, jlong, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doHashCode
+ * Signature: (JJ)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doHashCode
+  (JNIEnv *, jclass, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyToArray
+ * Signature: (JLjava/lang/Object;JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyToArray
+  (JNIEnv *, jclass, jlong, jobject, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyFromArray
+ * Signature: (Ljava/lang/Object;JJJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyFromArray
+  (JNIEnv *, jclass, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyToBooleanArray
+ * Signature: (J[ZII)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyToBooleanArray
+  (JNIEnv *, jclass, jlong, jbooleanArray, jint, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyToArraySwapped
+ * Signature: (JLjava/lang/Object;JJI)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyToArraySwapped
+  (JNIEnv *, jclass, jlong, jobject, jlong, jlong, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCopyFromArraySwapped
+ * Signature: (Ljava/lang/Object;JJJI)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCopyFromArraySwapped
+  (JNIEnv *, jclass, jobject, jlong, jlong, jlong, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetBoolean
+ * Signature: (J)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetBoolean
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetByte
+ * Signature: (J)B
+ */
+JNIEXPORT jbyte JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetByte
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetShort
+ * Signature: (J)S
+ */
+JNIEXPORT jshort JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetShort
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetInt
+ * Signature: (J)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetInt
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetLong
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetLong
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutBoolean
+ * Signature: (JZ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutBoolean
+  (JNIEnv *, jclass, jlong, jboolean);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutByte
+ * Signature: (JB)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutByte
+  (JNIEnv *, jclass, jlong, jbyte);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutShort
+ * Signature: (JS)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutShort
+  (JNIEnv *, jclass, jlong, jshort);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutInt
+ * Signature: (JI)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutInt
+  (JNIEnv *, jclass, jlong, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutLong
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutLong
+  (JNIEnv *, jclass, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetIntVolatile
+ * Signature: (J)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetIntVolatile
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutIntVolatile
+ * Signature: (JI)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutIntVolatile
+  (JNIEnv *, jclass, jlong, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCompareAndSetInt
+ * Signature: (JII)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCompareAndSetInt
+  (JNIEnv *, jclass, jlong, jint, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAndAddInt
+ * Signature: (JI)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAndAddInt
+  (JNIEnv *, jclass, jlong, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAndSetInt
+ * Signature: (JI)I
+ */
+JNIEXPORT jint JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAndSetInt
+  (JNIEnv *, jclass, jlong, jint);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetLongVolatile
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetLongVolatile
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doPutLongVolatile
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doPutLongVolatile
+  (JNIEnv *, jclass, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doCompareAndSetLong
+ * Signature: (JJJ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doCompareAndSetLong
+  (JNIEnv *, jclass, jlong, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAndAddLong
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAndAddLong
+  (JNIEnv *, jclass, jlong, jlong);
+
+/*
+ * Class:     net_gudenau_lib_largebuffers_implementation_NativeMethods
+ * Method:    doGetAndSetLong
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_net_gudenau_lib_largebuffers_implementation_NativeMethods_doGetAndSetLong
+  (JNIEnv *, jclass, jlong, jlong);
+
+#ifdef __cplusplus
+}
+#endif
+#endif